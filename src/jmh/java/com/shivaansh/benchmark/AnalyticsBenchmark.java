@@ -0,0 +1,102 @@
+package com.shivaansh.benchmark;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.repository.TransactionRepository;
+import com.shivaansh.service.CategoryStats;
+import com.shivaansh.service.ColumnarAnalyticsBackend;
+import com.shivaansh.service.TransactionsChangedEvent;
+import com.shivaansh.service.TypeTotals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process analytics paths of {@link ColumnarAnalyticsBackend}: category grouping,
+ * top-N selection and date-range aggregation. The store is filled through the same
+ * change events the application applies; the repository is stubbed, so
+ * {@code topExpenses} measures only the selection, not the entity load.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AnalyticsBenchmark {
+
+    private static final int LOAD_CHUNK = 100_000;
+    private static final LocalDate MONTH_START = SyntheticTransactions.FIRST_DATE.plusMonths(6);
+    private static final LocalDate MONTH_END = MONTH_START.plusMonths(1).minusDays(1);
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"10"})
+    public int limit;
+
+    private ColumnarAnalyticsBackend backend;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        backend = new ColumnarAnalyticsBackend(null, null, stubRepository(),
+                new InMemoryCategoryDictionary(SyntheticTransactions.CATEGORIES));
+        SplittableRandom random = new SplittableRandom(42);
+        for (int loaded = 0; loaded < rows; loaded += LOAD_CHUNK) {
+            List<Transaction> chunk =
+                    SyntheticTransactions.transactions(loaded + 1, Math.min(LOAD_CHUNK, rows - loaded), random);
+            backend.onTransactionsChanged(TransactionsChangedEvent.added(chunk));
+        }
+    }
+
+    @Benchmark
+    public Map<String, CategoryStats> categoryGrouping() {
+        return backend.expensesByCategory(null, null);
+    }
+
+    @Benchmark
+    public List<Transaction> topN() {
+        return backend.topExpenses(limit, null, null, null);
+    }
+
+    @Benchmark
+    public List<Transaction> topNMonthAndCategory() {
+        return backend.topExpenses(limit, MONTH_START, MONTH_END, SyntheticTransactions.CATEGORIES[0]);
+    }
+
+    @Benchmark
+    public TypeTotals rangeAggregationAllTime() {
+        return backend.totals(null, null);
+    }
+
+    @Benchmark
+    public TypeTotals rangeAggregationMonth() {
+        return backend.totals(MONTH_START, MONTH_END);
+    }
+
+    private static TransactionRepository stubRepository() {
+        return (TransactionRepository) Proxy.newProxyInstance(TransactionRepository.class.getClassLoader(),
+                new Class<?>[]{TransactionRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllById" -> List.of();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubTransactionRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,91 @@
+package com.shivaansh.benchmark;
+
+import com.shivaansh.service.CsvParserService;
+import com.shivaansh.service.IngestStats;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV parsing throughput of {@link CsvParserService}, from bytes to Transaction entities.
+ * The {@code rows} counter is rows/sec. With {@code -prof gc}, {@code gc.alloc.rate.norm}
+ * is bytes per invocation; divide by {@code rows} for allocation per row.
+ *
+ * <p>{@code stream} is the commons-csv path used for small uploads; {@code commons} and
+ * {@code mapped} parse a spooled file (in parallel chunks once it reaches the default
+ * 64 MB threshold, i.e. the 10M-row case).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CsvParseBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    @Param({"stream", "commons", "mapped"})
+    public String parser;
+
+    private Path csv;
+    private CsvParserService csvParserService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        csv = SyntheticTransactions.writeCsv(rows, 42);
+        csvParserService = new CsvParserService(0, new InMemoryCategoryDictionary(SyntheticTransactions.CATEGORIES));
+        // Field defaults normally come from @Value
+        ReflectionTestUtils.setField(csvParserService, "parallelThresholdBytes", 64L * 1024 * 1024);
+        ReflectionTestUtils.setField(csvParserService, "chunkSizeBytes", 8L * 1024 * 1024);
+        ReflectionTestUtils.setField(csvParserService, "parser", "mapped".equals(parser) ? "mapped" : "commons");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(csv);
+    }
+
+    @Benchmark
+    public void parse(RowCounter counter, Blackhole blackhole) throws Exception {
+        IngestStats stats = new IngestStats();
+        if ("stream".equals(parser)) {
+            try (InputStream in = Files.newInputStream(csv)) {
+                csvParserService.parseTransactions(in, stats, blackhole::consume);
+            }
+        } else {
+            csvParserService.parseTransactions(csv, stats, blackhole::consume);
+        }
+        counter.rows += stats.getRowsParsed();
+    }
+}
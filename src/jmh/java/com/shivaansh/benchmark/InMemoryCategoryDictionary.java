@@ -0,0 +1,59 @@
+package com.shivaansh.benchmark;
+
+import com.shivaansh.repository.CategoryDictionary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link CategoryDictionary} without a database, so parsers and analytics stores can be
+ * benchmarked on their own. Same matching rules: trimmed, case-insensitive, first
+ * spelling wins. Not thread-safe beyond what the benchmarks need (a fixed category set
+ * registered up front).
+ */
+class InMemoryCategoryDictionary extends CategoryDictionary {
+
+    private final Map<String, Integer> idsByKey = new HashMap<>();
+    private final List<String> names = new ArrayList<>(List.of(""));
+
+    InMemoryCategoryDictionary(String... categories) {
+        super(null);
+        for (String category : categories) {
+            idFor(category);
+        }
+    }
+
+    @Override
+    public String canonicalName(String category) {
+        Integer id = idFor(category);
+        return id != null ? names.get(id) : null;
+    }
+
+    @Override
+    public synchronized Integer idFor(String category) {
+        if (category == null || category.isBlank()) {
+            return null;
+        }
+        return idsByKey.computeIfAbsent(category.trim().toLowerCase(Locale.ROOT), key -> {
+            names.add(category.trim());
+            return names.size() - 1;
+        });
+    }
+
+    @Override
+    public synchronized Optional<Integer> find(String category) {
+        if (category == null || category.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(idsByKey.get(category.trim().toLowerCase(Locale.ROOT)));
+    }
+
+    @Override
+    public synchronized String nameOf(int id) {
+        return names.get(id);
+    }
+}
@@ -0,0 +1,130 @@
+package com.shivaansh.benchmark;
+
+import com.shivaansh.FinanceAssistantApplication;
+import com.shivaansh.service.IngestMode;
+import com.shivaansh.service.IngestStats;
+import com.shivaansh.service.TransactionIngestService;
+import com.shivaansh.service.TransactionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares the JPA and COPY ingest modes on a generated CSV against the configured
+ * database. Starts the application without a web server ({@code ingest-benchmark}
+ * profile), runs, and closes it again. Each run's rows are deleted through
+ * {@link TransactionService#deleteTransactions}, so daily_totals, the columnar store and
+ * the analytics cache are updated as for any delete; still, point it at a scratch database:
+ *
+ * <pre>
+ * mvn -Pbenchmarks test -Dbenchmark.main=com.shivaansh.benchmark.IngestBenchmark \
+ *     -Djmh.args="--spring.datasource.url=jdbc:postgresql://localhost:5432/scratch --app.benchmark.rows=200000"
+ * </pre>
+ */
+@Slf4j
+public final class IngestBenchmark {
+
+    private static final String[] CATEGORIES = {
+            "Groceries", "Rent", "Utilities", "Dining", "Transport", "Shopping", "Travel", "Health", "Salary", "Gifts"};
+
+    // Ids per bulk delete; keeps the IN lists well below the driver's bind parameter limit
+    private static final int DELETE_CHUNK = 10_000;
+
+    private final TransactionIngestService transactionIngestService;
+    private final TransactionService transactionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int rows;
+    private final int iterations;
+
+    private IngestBenchmark(ConfigurableApplicationContext context) {
+        Environment environment = context.getEnvironment();
+        this.transactionIngestService = context.getBean(TransactionIngestService.class);
+        this.transactionService = context.getBean(TransactionService.class);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.rows = environment.getProperty("app.benchmark.rows", Integer.class, 100_000);
+        this.iterations = environment.getProperty("app.benchmark.iterations", Integer.class, 3);
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FinanceAssistantApplication.class)
+                .profiles("ingest-benchmark")
+                .run(args)) {
+            new IngestBenchmark(context).run();
+        }
+    }
+
+    private void run() throws Exception {
+        Path csv = generate(rows);
+        Map<IngestMode, List<Long>> rates = new EnumMap<>(IngestMode.class);
+        try {
+            // One untimed warm-up per mode, then alternate modes so drift hits both equally
+            for (IngestMode mode : IngestMode.values()) {
+                runOnce(csv, mode);
+            }
+            for (int i = 1; i <= iterations; i++) {
+                for (IngestMode mode : IngestMode.values()) {
+                    IngestStats stats = runOnce(csv, mode);
+                    rates.computeIfAbsent(mode, m -> new ArrayList<>()).add(Math.round(stats.getRowsPerSecond()));
+                    log.info("Run {} {}: {} rows in {} ms ({} rows/sec)", i, mode,
+                            stats.getRowsPersisted(), stats.getDurationMs(), Math.round(stats.getRowsPerSecond()));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+
+        rates.forEach((mode, values) -> log.info("{}: median {} rows/sec over {} runs of {} rows",
+                mode, median(values), values.size(), rows));
+    }
+
+    private IngestStats runOnce(Path csv, IngestMode mode) throws Exception {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM transactions", Long.class);
+        try {
+            return transactionIngestService.ingest(csv, new IngestStats(), mode);
+        } finally {
+            deleteAfter(maxId);
+        }
+    }
+
+    private void deleteAfter(long maxId) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM transactions WHERE id > ? ORDER BY id", Long.class, maxId);
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK) {
+            transactionService.deleteTransactions(ids.subList(from, Math.min(ids.size(), from + DELETE_CHUNK)));
+        }
+    }
+
+    private static Path generate(int rows) throws IOException {
+        Path csv = Files.createTempFile("ingest-benchmark-", ".csv");
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2023, 1, 1);
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            writer.write("date,description,category,amount,type\n");
+            for (int i = 0; i < rows; i++) {
+                boolean income = random.nextInt(10) == 0;
+                writer.write(start.plusDays(random.nextInt(730)) + ",Benchmark row " + i + ","
+                        + CATEGORIES[random.nextInt(CATEGORIES.length)] + ","
+                        + (1 + random.nextInt(50_000)) / 100 + "." + String.format("%02d", random.nextInt(100)) + ","
+                        + (income ? "INCOME" : "EXPENSE") + "\n");
+            }
+        }
+        return csv;
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = values.stream().sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,82 @@
+package com.shivaansh.benchmark;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic data for the benchmarks: two years of daily transactions over a
+ * fixed category set, roughly one income row in ten.
+ */
+final class SyntheticTransactions {
+
+    static final String[] CATEGORIES = {
+            "Groceries", "Rent", "Utilities", "Dining", "Transport", "Shopping", "Travel", "Health",
+            "Entertainment", "Insurance", "Education", "Gifts", "Salary", "Subscriptions", "Pets", "Home"};
+    static final LocalDate FIRST_DATE = LocalDate.of(2023, 1, 1);
+    static final int DAYS = 730;
+
+    private static final String[] MERCHANTS = {
+            "Whole Foods", "Landlord LLC", "City Power", "Pizza Place", "Metro Card", "Amazon", "Airline",
+            "Pharmacy", "Cinema", "Insurer", "Bookstore", "Florist", "Employer Inc", "Streaming", "Pet Shop"};
+
+    private SyntheticTransactions() {
+    }
+
+    /**
+     * Writes {@code rows} rows in the upload format to a temp file.
+     */
+    static Path writeCsv(int rows, long seed) throws IOException {
+        Path csv = Files.createTempFile("benchmark-", ".csv");
+        csv.toFile().deleteOnExit();
+        SplittableRandom random = new SplittableRandom(seed);
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            writer.write("date,description,category,amount,type\n");
+            for (int i = 0; i < rows; i++) {
+                boolean income = random.nextInt(10) == 0;
+                long cents = 1 + random.nextInt(income ? 500_000 : 50_000);
+                writer.write(FIRST_DATE.plusDays(random.nextInt(DAYS)).toString());
+                writer.write(',');
+                writer.write(MERCHANTS[random.nextInt(MERCHANTS.length)]);
+                writer.write(" #");
+                writer.write(Integer.toString(random.nextInt(1000)));
+                writer.write(',');
+                writer.write(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                writer.write(',');
+                writer.write(BigDecimal.valueOf(cents, 2).toPlainString());
+                writer.write(',');
+                writer.write(income ? "INCOME" : "EXPENSE");
+                writer.write('\n');
+            }
+        }
+        return csv;
+    }
+
+    /**
+     * Entities with ids {@code firstId .. firstId + count - 1}.
+     */
+    static List<Transaction> transactions(long firstId, int count, SplittableRandom random) {
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean income = random.nextInt(10) == 0;
+            Transaction t = new Transaction();
+            t.setId(firstId + i);
+            t.setDate(FIRST_DATE.plusDays(random.nextInt(DAYS)));
+            t.setDescription(MERCHANTS[random.nextInt(MERCHANTS.length)]);
+            t.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            t.setAmount(BigDecimal.valueOf(1 + random.nextInt(income ? 500_000 : 50_000), 2));
+            t.setType(income ? TransactionType.INCOME : TransactionType.EXPENSE);
+            transactions.add(t);
+        }
+        return transactions;
+    }
+}
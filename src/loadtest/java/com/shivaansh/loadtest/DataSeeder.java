@@ -0,0 +1,88 @@
+package com.shivaansh.loadtest;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.repository.CategoryDictionary;
+import com.shivaansh.repository.TransactionCopyWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Bulk-loads generated transactions straight into Postgres with the application's own
+ * {@link TransactionCopyWriter}, so ids, category ids and column encoding are exactly what
+ * the app writes itself. The schema must exist, i.e. the app has been started once against
+ * the database.
+ *
+ * <p>COPY bypasses the app's write path, so afterwards the rollups are rebuilt through
+ * {@code POST /api/analytics/rollup/rebuild}. If the app is not running, start it with
+ * {@code app.rollup.rebuild-on-startup=true} instead.
+ */
+final class DataSeeder {
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+
+    DataSeeder(LoadTestConfig config, HttpClient client) {
+        this.config = config;
+        this.client = client;
+    }
+
+    void seed() throws Exception {
+        DataSource dataSource = new DriverManagerDataSource(config.jdbcUrl(), config.jdbcUser(), config.jdbcPassword());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        TransactionCopyWriter writer = new TransactionCopyWriter(jdbcTemplate, new CategoryDictionary(dataSource));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        // A different stream from the workers', so seeded rows and created rows do not repeat
+        SyntheticData data = new SyntheticData(config.randomSeed() ^ 0x5EEDL, config.seedDays());
+
+        log("Seeding %,d transactions over %d days into %s", config.seedRows(), config.seedDays(), config.jdbcUrl());
+        long begin = System.nanoTime();
+        long seeded = 0;
+        long nextReport = 1_000_000;
+        while (seeded < config.seedRows()) {
+            List<Transaction> batch = data.next((int) Math.min(config.seedBatch(), config.seedRows() - seeded));
+            transactionTemplate.executeWithoutResult(status -> writer.copy(batch));
+            seeded += batch.size();
+            if (seeded >= nextReport) {
+                log("  %,d rows (%,.0f rows/s)", seeded, seeded / seconds(begin));
+                nextReport += 1_000_000;
+            }
+        }
+        log("Seeded %,d rows in %.1f s", seeded, seconds(begin));
+
+        rebuildRollups();
+    }
+
+    private void rebuildRollups() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(config.baseUrl() + "/api/analytics/rollup/rebuild"))
+                .timeout(Duration.ofMinutes(30))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Rollup rebuild returned " + response.statusCode() + ": " + response.body());
+            }
+            log("Rebuilt analytics rollups");
+        } catch (Exception e) {
+            log("Could not rebuild rollups (%s); restart the app with app.rollup.rebuild-on-startup=true", e.getMessage());
+        }
+    }
+
+    private static double seconds(long beginNanos) {
+        return Math.max(1e-9, (System.nanoTime() - beginNanos) / 1e9);
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf(format + "%n", args);
+    }
+}
@@ -0,0 +1,174 @@
+package com.shivaansh.loadtest;
+
+import com.shivaansh.entity.Transaction;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Locale;
+
+/**
+ * The operations the load test can issue, keyed by the names used in {@code --mix}. Each
+ * builds a fresh request from the worker's {@link RequestContext}, so parameters (pages,
+ * ids, date windows, categories) vary the way real clients would.
+ */
+enum Endpoint {
+
+    LIST("list") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            StringBuilder query = new StringBuilder("page=").append(ctx.random().nextInt(50)).append("&size=20");
+            if (ctx.random().nextInt(4) == 0) {
+                query.append("&category=").append(ctx.category());
+            } else if (ctx.random().nextInt(3) == 0) {
+                query.append("&type=EXPENSE&sortBy=amount&direction=desc");
+            }
+            return get(ctx, "/api/transactions?" + query);
+        }
+    },
+    CURSOR("cursor") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            return get(ctx, "/api/transactions?cursor=&size=50&sortBy=date&direction=desc");
+        }
+    },
+    GET("get") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            return get(ctx, "/api/transactions/" + ctx.randomId());
+        }
+
+        // Ids are sampled from the live range, which has gaps
+        @Override
+        boolean isSuccess(int status) {
+            return super.isSuccess(status) || status == 404;
+        }
+    },
+    CREATE("create") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            Transaction t = ctx.data().next();
+            String json = String.format(Locale.ROOT,
+                    "{\"date\":\"%s\",\"description\":\"%s\",\"category\":\"%s\",\"amount\":%s,\"type\":\"%s\"}",
+                    t.getDate(), t.getDescription(), t.getCategory(), t.getAmount().toPlainString(), t.getType());
+            return builder(ctx, "/api/transactions")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+        }
+    },
+    SUMMARY("summary") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            return get(ctx, "/api/analytics/summary");
+        }
+    },
+    BY_CATEGORY("by-category") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            return get(ctx, "/api/analytics/by-category");
+        }
+    },
+    RANGE("range") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            LocalDate start = ctx.randomDate(30);
+            return get(ctx, "/api/analytics/range?startDate=" + start + "&endDate=" + start.plusDays(29));
+        }
+    },
+    MONTHLY("monthly") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            YearMonth month = YearMonth.from(ctx.randomDate(1));
+            return get(ctx, "/api/analytics/monthly?year=" + month.getYear() + "&month=" + month.getMonthValue());
+        }
+    },
+    TRENDS("trends") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            LocalDate end = ctx.today();
+            String query = "bucket=month&startDate=" + end.minusMonths(12).withDayOfMonth(1) + "&endDate=" + end;
+            if (ctx.random().nextBoolean()) {
+                query += "&category=" + ctx.category();
+            }
+            return get(ctx, "/api/analytics/trends?" + query);
+        }
+    },
+    TOP_EXPENSES("top-expenses") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            if (ctx.random().nextBoolean()) {
+                return get(ctx, "/api/analytics/top-expenses?limit=10");
+            }
+            LocalDate start = ctx.randomDate(90);
+            return get(ctx, "/api/analytics/top-expenses?limit=10&startDate=" + start + "&endDate=" + start.plusDays(89));
+        }
+    },
+    DASHBOARD("dashboard") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            return get(ctx, "/api/analytics/dashboard");
+        }
+    },
+    BUDGETS("budgets") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            return get(ctx, "/api/analytics/budgets?month=" + YearMonth.from(ctx.randomDate(1)));
+        }
+    },
+    UPLOAD("upload") {
+        @Override
+        HttpRequest request(RequestContext ctx) {
+            String boundary = "loadtest" + Long.toHexString(ctx.random().nextLong());
+            byte[] head = ("--" + boundary + "\r\n" +
+                    "Content-Disposition: form-data; name=\"file\"; filename=\"loadtest.csv\"\r\n" +
+                    "Content-Type: text/csv\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+            byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+            byte[] csv = ctx.data().csv(ctx.uploadRows());
+
+            byte[] body = new byte[head.length + csv.length + tail.length];
+            System.arraycopy(head, 0, body, 0, head.length);
+            System.arraycopy(csv, 0, body, head.length, csv.length);
+            System.arraycopy(tail, 0, body, head.length + csv.length, tail.length);
+            return builder(ctx, "/api/files/upload")
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+        }
+    };
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    abstract HttpRequest request(RequestContext ctx);
+
+    boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    static Endpoint parse(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint '" + key + "'");
+    }
+
+    private static HttpRequest get(RequestContext ctx, String path) {
+        return builder(ctx, path).GET().build();
+    }
+
+    private static HttpRequest.Builder builder(RequestContext ctx, String path) {
+        return HttpRequest.newBuilder(URI.create(ctx.baseUrl() + path)).timeout(RequestContext.REQUEST_TIMEOUT);
+    }
+}
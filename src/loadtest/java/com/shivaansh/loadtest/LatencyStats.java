@@ -0,0 +1,96 @@
+package com.shivaansh.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Every latency of one endpoint, kept raw so percentiles are exact rather than bucketed.
+ * Eight bytes per request is a few MB even for a long run. One instance per worker and
+ * endpoint, merged at the end, so recording never synchronizes.
+ */
+final class LatencyStats {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private long errors;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+
+    void record(long latencyNanos, int status, boolean success) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+        // 0 = no response (timeout, connection refused)
+        statuses.merge(status, 1L, Long::sum);
+    }
+
+    void merge(LatencyStats other) {
+        if (count + other.count > nanos.length) {
+            nanos = Arrays.copyOf(nanos, count + other.count);
+        }
+        System.arraycopy(other.nanos, 0, nanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        other.statuses.forEach((status, n) -> statuses.merge(status, n, Long::sum));
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * Report entry: request and error counts, throughput over {@code seconds}, latency
+     * percentiles in milliseconds and the count per HTTP status.
+     */
+    Map<String, Object> toMap(double seconds) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long n : sorted) {
+            total += n;
+        }
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", count > 0 ? millis(total / count) : 0.0);
+        latency.put("p50", percentile(sorted, 50));
+        latency.put("p90", percentile(sorted, 90));
+        latency.put("p95", percentile(sorted, 95));
+        latency.put("p99", percentile(sorted, 99));
+        latency.put("p999", percentile(sorted, 99.9));
+        latency.put("max", count > 0 ? millis(sorted[count - 1]) : 0.0);
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        statuses.forEach((status, n) -> byStatus.put(Integer.toString(status), n));
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("requests", count);
+        map.put("errors", errors);
+        map.put("errorRate", count > 0 ? round((double) errors / count) : 0.0);
+        map.put("throughputPerSecond", round(count / seconds));
+        map.put("latencyMs", latency);
+        map.put("statuses", byStatus);
+        return map;
+    }
+
+    // Nearest-rank percentile
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return millis(sorted[Math.max(0, rank - 1)]);
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
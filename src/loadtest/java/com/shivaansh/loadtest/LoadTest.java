@@ -0,0 +1,189 @@
+package com.shivaansh.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * End-to-end HTTP load test against a running instance of the application. Optionally
+ * seeds the database first ({@link DataSeeder}), then runs {@code concurrency} closed-loop
+ * workers, each sending its next request as soon as the previous one returns, picking
+ * endpoints by the {@code --mix} weights. Requests during the warmup are sent but not
+ * recorded. Writes a JSON report with throughput and latency percentiles per endpoint, to
+ * diff between builds:
+ *
+ * <pre>
+ * mvn -Ploadtest test -Dloadtest.args="--seed-rows=2000000 --concurrency=32 --duration=120 --label=$(git rev-parse --short HEAD)"
+ * </pre>
+ *
+ * See {@link LoadTestConfig} for all arguments.
+ */
+public final class LoadTest {
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(LoadTestConfig.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        if (config.seedRows() > 0) {
+            new DataSeeder(config, client).seed();
+        }
+
+        long minId = probeId("asc");
+        long maxId = probeId("desc");
+        System.out.printf("Running %s for %d s (+%d s warmup) with %d workers against %s, ids %d..%d%n",
+                config.mix(), config.duration().toSeconds(), config.warmup().toSeconds(), config.concurrency(),
+                config.baseUrl(), minId, maxId);
+
+        Instant startedAt = Instant.now();
+        long measureFrom = System.nanoTime() + config.warmup().toNanos();
+        long measureTo = measureFrom + config.duration().toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency());
+        List<Future<Map<Endpoint, LatencyStats>>> results = new ArrayList<>();
+        for (int i = 0; i < config.concurrency(); i++) {
+            RequestContext ctx = new RequestContext(config, i, minId, maxId);
+            results.add(workers.submit(() -> work(ctx, measureFrom, measureTo)));
+        }
+        Map<Endpoint, LatencyStats> merged = new EnumMap<>(Endpoint.class);
+        for (Future<Map<Endpoint, LatencyStats>> result : results) {
+            result.get().forEach((endpoint, stats) ->
+                    merged.computeIfAbsent(endpoint, e -> new LatencyStats()).merge(stats));
+        }
+        workers.shutdown();
+
+        writeReport(startedAt, merged);
+    }
+
+    private Map<Endpoint, LatencyStats> work(RequestContext ctx, long measureFrom, long measureTo) {
+        Endpoint[] endpoints = config.mix().keySet().toArray(new Endpoint[0]);
+        int[] cumulative = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += config.mix().get(endpoints[i]);
+            cumulative[i] = total;
+        }
+
+        Map<Endpoint, LatencyStats> stats = new EnumMap<>(Endpoint.class);
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= measureTo) {
+                return stats;
+            }
+            int pick = ctx.random().nextInt(total);
+            int index = 0;
+            while (cumulative[index] <= pick) {
+                index++;
+            }
+            Endpoint endpoint = endpoints[index];
+
+            HttpRequest request = endpoint.request(ctx);
+            int status;
+            long begin = System.nanoTime();
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return stats;
+            } catch (Exception e) {
+                status = 0;
+            }
+            long end = System.nanoTime();
+            if (begin >= measureFrom && end <= measureTo) {
+                stats.computeIfAbsent(endpoint, k -> new LatencyStats())
+                        .record(end - begin, status, endpoint.isSuccess(status));
+            }
+        }
+    }
+
+    // Lowest or highest stored id, through the cursor endpoint; 1 if the table is empty
+    private long probeId(String direction) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                        config.baseUrl() + "/api/transactions?cursor=&size=1&sortBy=id&direction=" + direction))
+                .timeout(RequestContext.REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not reach " + config.baseUrl() + ": HTTP " + response.statusCode());
+        }
+        JsonNode transactions = objectMapper.readTree(response.body()).path("transactions");
+        return transactions.isEmpty() ? 1 : transactions.get(0).path("id").asLong(1);
+    }
+
+    private void writeReport(Instant startedAt, Map<Endpoint, LatencyStats> stats) throws Exception {
+        double seconds = config.duration().toNanos() / 1e9;
+        LatencyStats overall = new LatencyStats();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Endpoint endpoint : config.mix().keySet()) {
+            LatencyStats endpointStats = stats.getOrDefault(endpoint, new LatencyStats());
+            endpoints.put(endpoint.key(), endpointStats.toMap(seconds));
+            overall.merge(endpointStats);
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("baseUrl", config.baseUrl());
+        settings.put("concurrency", config.concurrency());
+        settings.put("warmupSeconds", config.warmup().toSeconds());
+        settings.put("durationSeconds", config.duration().toSeconds());
+        settings.put("seedRows", config.seedRows());
+        settings.put("uploadRows", config.uploadRows());
+        settings.put("randomSeed", config.randomSeed());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix().forEach((endpoint, weight) -> mix.put(endpoint.key(), weight));
+        settings.put("mix", mix);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", config.label());
+        report.put("startedAt", startedAt.toString());
+        report.put("config", settings);
+        report.put("overall", overall.toMap(seconds));
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(config.report().toAbsolutePath().getParent());
+        objectMapper.writeValue(config.report().toFile(), report);
+
+        System.out.printf("%n%-14s %9s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        endpoints.forEach((key, value) -> printRow(key, value));
+        printRow("overall", report.get("overall"));
+        System.out.printf("%nReport written to %s%n", config.report().toAbsolutePath());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printRow(String key, Object value) {
+        Map<String, Object> row = (Map<String, Object>) value;
+        Map<String, Object> latency = (Map<String, Object>) row.get("latencyMs");
+        System.out.printf("%-14s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", key,
+                row.get("requests"), row.get("errors"), row.get("throughputPerSecond"),
+                latency.get("p50"), latency.get("p95"), latency.get("p99"), latency.get("max"));
+    }
+}
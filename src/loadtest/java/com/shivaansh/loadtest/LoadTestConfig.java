@@ -0,0 +1,99 @@
+package com.shivaansh.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, from {@code --name=value} arguments. Anything not given falls back to
+ * the defaults below, which match a local run of the application with its default
+ * {@code application.properties}.
+ */
+record LoadTestConfig(
+        String baseUrl,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        long seedRows,
+        int seedBatch,
+        int seedDays,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Endpoint, Integer> mix,
+        int uploadRows,
+        long randomSeed,
+        String label,
+        Path report) {
+
+    static final String DEFAULT_MIX = "list=20,cursor=5,get=10,create=5,summary=12,by-category=8,range=8," +
+            "monthly=6,trends=6,top-expenses=6,dashboard=8,budgets=4,upload=2";
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments must look like --name=value, got '" + arg + "'");
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                take(values, "base-url", "http://localhost:8081"),
+                take(values, "jdbc-url", "jdbc:postgresql://localhost:5432/finance_scheduler_db?reWriteBatchedInserts=true"),
+                take(values, "jdbc-user", "devuser"),
+                take(values, "jdbc-password", "devpass"),
+                Long.parseLong(take(values, "seed-rows", "0")),
+                Integer.parseInt(take(values, "seed-batch", "20000")),
+                Integer.parseInt(take(values, "seed-days", "1095")),
+                Integer.parseInt(take(values, "concurrency", "16")),
+                Duration.ofSeconds(Long.parseLong(take(values, "warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(take(values, "duration", "60"))),
+                parseMix(take(values, "mix", DEFAULT_MIX)),
+                Integer.parseInt(take(values, "upload-rows", "1000")),
+                Long.parseLong(take(values, "random-seed", "42")),
+                take(values, "label", ""),
+                Path.of(take(values, "report", "target/loadtest/report.json")));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown arguments: " + values.keySet());
+        }
+        if (config.concurrency() < 1 || config.seedBatch() < 1 || config.seedDays() < 1) {
+            throw new IllegalArgumentException("concurrency, seed-batch and seed-days must be at least 1");
+        }
+        return config;
+    }
+
+    /**
+     * {@code name=weight,...}; weights are relative and endpoints left out are not called.
+     */
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Mix entries must look like name=weight, got '" + part + "'");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weight for " + pair[0] + " must not be negative");
+            }
+            if (weight > 0) {
+                weights.put(Endpoint.parse(pair[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix must give at least one endpoint a positive weight");
+        }
+        return weights;
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,74 @@
+package com.shivaansh.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Per-worker state for building requests: its own random stream and data generator (so
+ * workers never contend), plus the id and date ranges shared by all of them.
+ */
+final class RequestContext {
+
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final List<String> CATEGORIES = SyntheticData.expenseCategories();
+
+    private final String baseUrl;
+    private final SplittableRandom random;
+    private final SyntheticData data;
+    private final int uploadRows;
+    private final long minId;
+    private final long maxId;
+    private final LocalDate firstDate;
+    private final LocalDate today;
+
+    RequestContext(LoadTestConfig config, int worker, long minId, long maxId) {
+        this.baseUrl = config.baseUrl();
+        this.random = new SplittableRandom(config.randomSeed() * 31 + worker);
+        this.data = new SyntheticData(config.randomSeed() * 31 + worker, config.seedDays());
+        this.uploadRows = config.uploadRows();
+        this.minId = minId;
+        this.maxId = maxId;
+        this.firstDate = data.firstDate();
+        this.today = LocalDate.now();
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    SplittableRandom random() {
+        return random;
+    }
+
+    SyntheticData data() {
+        return data;
+    }
+
+    int uploadRows() {
+        return uploadRows;
+    }
+
+    LocalDate today() {
+        return today;
+    }
+
+    String category() {
+        return CATEGORIES.get(random.nextInt(CATEGORIES.size()));
+    }
+
+    long randomId() {
+        return maxId > minId ? random.nextLong(minId, maxId + 1) : minId;
+    }
+
+    /**
+     * Start of a {@code windowDays}-day window that lies inside the seeded date range.
+     */
+    LocalDate randomDate(int windowDays) {
+        long span = ChronoUnit.DAYS.between(firstDate, today) - windowDays + 2;
+        return firstDate.plusDays(span > 1 ? random.nextLong(span) : 0);
+    }
+}
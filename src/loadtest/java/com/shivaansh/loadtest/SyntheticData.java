@@ -0,0 +1,170 @@
+package com.shivaansh.loadtest;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates transactions with realistic shape rather than uniform noise: categories are
+ * weighted by how often people spend in them, amounts are log-normal around a per-category
+ * median, dining, shopping and entertainment lean to weekends, shopping, travel and gifts
+ * peak in November and December, and roughly one row in thirteen is income. Deterministic
+ * for a given seed.
+ */
+final class SyntheticData {
+
+    private record Kind(String category, TransactionType type, int weight, double median, double sigma,
+                        String[] merchants, boolean weekendHeavy, boolean seasonal) {
+    }
+
+    private static final Kind[] KINDS = {
+            expense("Groceries", 24, 45, 0.6, false, false, "Whole Foods", "Trader Joe's", "Costco", "Aldi"),
+            expense("Dining", 14, 24, 0.7, true, false, "Pizza Place", "Sushi Bar", "Cafe Nero", "Taco Stand"),
+            expense("Transport", 12, 14, 0.8, false, false, "Metro Card", "Uber", "Shell", "Parking"),
+            expense("Shopping", 9, 55, 1.0, true, true, "Amazon", "Target", "IKEA", "Zara"),
+            expense("Utilities", 5, 85, 0.35, false, false, "City Power", "Water Co", "Internet Co"),
+            expense("Subscriptions", 5, 13, 0.5, false, false, "Streaming", "Music", "Cloud Storage"),
+            expense("Entertainment", 5, 30, 0.8, true, false, "Cinema", "Concert Hall", "Bowling"),
+            expense("Health", 4, 40, 0.9, false, false, "Pharmacy", "Dentist", "Gym"),
+            expense("Travel", 2, 320, 0.9, false, true, "Airline", "Hotel", "Car Rental"),
+            expense("Rent", 2, 1450, 0.15, false, false, "Landlord LLC"),
+            expense("Insurance", 2, 120, 0.3, false, false, "Insurer"),
+            expense("Gifts", 2, 45, 0.8, false, true, "Florist", "Gift Shop"),
+            expense("Pets", 2, 35, 0.6, false, false, "Pet Shop", "Vet"),
+            income("Salary", 5, 3200, 0.15, "Employer Inc"),
+            income("Freelance", 2, 450, 0.7, "Client Payment"),
+            income("Refunds", 1, 40, 0.9, "Refund"),
+    };
+
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (Kind kind : KINDS) {
+            total += kind.weight();
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    private final SplittableRandom random;
+    private final LocalDate firstDate;
+    private final int days;
+
+    /**
+     * Rows dated in the {@code days} days ending today.
+     */
+    SyntheticData(long seed, int days) {
+        this.random = new SplittableRandom(seed);
+        this.days = days;
+        this.firstDate = LocalDate.now().minusDays(days - 1L);
+    }
+
+    LocalDate firstDate() {
+        return firstDate;
+    }
+
+    static List<String> expenseCategories() {
+        List<String> categories = new ArrayList<>();
+        for (Kind kind : KINDS) {
+            if (kind.type() == TransactionType.EXPENSE) {
+                categories.add(kind.category());
+            }
+        }
+        return categories;
+    }
+
+    Transaction next() {
+        Kind kind = pickKind();
+        Transaction t = new Transaction();
+        t.setType(kind.type());
+        t.setCategory(kind.category());
+        t.setDate(pickDate(kind));
+        t.setDescription(kind.merchants()[random.nextInt(kind.merchants().length)]);
+        t.setAmount(pickAmount(kind));
+        return t;
+    }
+
+    List<Transaction> next(int count) {
+        List<Transaction> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            batch.add(next());
+        }
+        return batch;
+    }
+
+    /**
+     * {@code rows} rows in the upload CSV format.
+     */
+    byte[] csv(int rows) {
+        StringBuilder csv = new StringBuilder(rows * 48 + 40);
+        csv.append("date,description,category,amount,type\n");
+        for (int i = 0; i < rows; i++) {
+            Transaction t = next();
+            csv.append(t.getDate()).append(',')
+                    .append(t.getDescription()).append(',')
+                    .append(t.getCategory()).append(',')
+                    .append(t.getAmount().toPlainString()).append(',')
+                    .append(t.getType().name()).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Kind pickKind() {
+        int n = random.nextInt(TOTAL_WEIGHT);
+        for (Kind kind : KINDS) {
+            n -= kind.weight();
+            if (n < 0) {
+                return kind;
+            }
+        }
+        return KINDS[KINDS.length - 1];
+    }
+
+    // Rejection sampling against the weekday / season multipliers (max 2.0)
+    private LocalDate pickDate(Kind kind) {
+        while (true) {
+            LocalDate date = firstDate.plusDays(random.nextInt(days));
+            double weight = 1.0;
+            if (kind.weekendHeavy()) {
+                DayOfWeek day = date.getDayOfWeek();
+                weight *= day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? 1.6 : 0.85;
+            }
+            if (kind.seasonal() && (date.getMonth() == Month.DECEMBER || date.getMonth() == Month.NOVEMBER)) {
+                weight *= 1.25;
+            }
+            if (random.nextDouble() * 2.0 < weight) {
+                return date;
+            }
+        }
+    }
+
+    private BigDecimal pickAmount(Kind kind) {
+        double amount = kind.median() * Math.exp(kind.sigma() * gaussian());
+        long cents = Math.max(1, Math.round(amount * 100));
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+    private double gaussian() {
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+
+    private static Kind expense(String category, int weight, double median, double sigma,
+                                boolean weekendHeavy, boolean seasonal, String... merchants) {
+        return new Kind(category, TransactionType.EXPENSE, weight, median, sigma, merchants, weekendHeavy, seasonal);
+    }
+
+    private static Kind income(String category, int weight, double median, double sigma, String... merchants) {
+        return new Kind(category, TransactionType.INCOME, weight, median, sigma, merchants, false, false);
+    }
+}
@@ -3,8 +3,10 @@ package com.shivaansh;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FinanceAssistantApplication
 {
     public static void main( String[] args )
@@ -1,14 +1,25 @@
 package com.shivaansh.controller;
 
+import com.shivaansh.service.AnalyticsCache;
 import com.shivaansh.service.AnalyticsService;
+import com.shivaansh.service.AnalyticsStreamService;
+import com.shivaansh.service.BudgetService;
+import com.shivaansh.service.DailyTotalService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/analytics")
@@ -17,7 +28,14 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class AnalyticsController {
 
+    // Top-N lists are for display; the limit sizes a heap (columnar) or a LIMIT (database)
+    static final int MAX_LIMIT = 100;
+
     private final AnalyticsService analyticsService;
+    private final DailyTotalService dailyTotalService;
+    private final BudgetService budgetService;
+    private final AnalyticsCache analyticsCache;
+    private final AnalyticsStreamService analyticsStreamService;
 
     @GetMapping("/summary")
     public ResponseEntity<?> getFinancialSummary() {
@@ -38,7 +56,7 @@ public class AnalyticsController {
     public ResponseEntity<?> getExpenseByCategory() {
         try {
             log.info("GET /api/analytics/by-category");
-            Map<String, Double> breakdown = analyticsService.getExpenseByCategoryBreakdown();
+            Map<String, BigDecimal> breakdown = analyticsService.getExpenseByCategoryBreakdown();
             return ResponseEntity.ok(Map.of(
                     "status", "success",
                     "categoryBreakdown", breakdown
@@ -112,30 +130,70 @@ public class AnalyticsController {
     }
 
     @GetMapping("/top-expenses")
-    public ResponseEntity<?> topExpenses(@RequestParam(defaultValue = "5") int limit) {
+    public ResponseEntity<?> topExpenses(@RequestParam(defaultValue = "5") int limit,
+                                         @RequestParam(required = false) String startDate,
+                                         @RequestParam(required = false) String endDate,
+                                         @RequestParam(required = false) String category) {
         try {
-            log.info("GET /api/analytics/top-expenses, limit={}", limit);
-            List<?> top = analyticsService.getTopExpenses(limit);
+            log.info("GET /api/analytics/top-expenses, limit={}, {} - {}, category={}", limit, startDate, endDate, category);
+            if (limit < 1) {
+                return buildError("Limit must be at least 1", HttpStatus.BAD_REQUEST);
+            }
+            List<?> top = analyticsService.getTopExpenses(Math.min(limit, MAX_LIMIT), startDate, endDate, category);
             return ResponseEntity.ok(Map.of(
                     "status", "success",
                     "count", top.size(),
                     "topExpenses", top
             ));
+        } catch (DateTimeParseException e) {
+            return buildError("Dates must be yyyy-MM-dd", HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             log.error("Error fetching top expenses", e);
             return buildError("Failed to fetch top expenses", HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    @GetMapping("/dashboard")
+    public ResponseEntity<?> dashboard(@RequestParam(required = false) Set<String> sections,
+                                       @RequestParam(defaultValue = "5") int limit) {
+        try {
+            log.info("GET /api/analytics/dashboard, sections={}, limit={}", sections, limit);
+            if (limit < 1) {
+                return buildError("Limit must be at least 1", HttpStatus.BAD_REQUEST);
+            }
+            Map<String, Object> dashboard = analyticsService.getDashboard(sections, Math.min(limit, MAX_LIMIT));
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "dashboard", dashboard
+            ));
+        } catch (IllegalArgumentException e) {
+            return buildError(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("Error building dashboard", e);
+            return buildError("Failed to build dashboard", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/trends")
-    public ResponseEntity<?> trends(@RequestParam(required = false) String category) {
+    public ResponseEntity<?> trends(@RequestParam(required = false) String category,
+                                    @RequestParam(required = false) String bucket,
+                                    @RequestParam(required = false) String startDate,
+                                    @RequestParam(required = false) String endDate,
+                                    @RequestParam(defaultValue = "false") boolean splitByCategory) {
         try {
-            log.info("GET /api/analytics/trends, category={}", category);
-            Map<String, Object> trends = analyticsService.getSpendingTrends(category);
+            log.info("GET /api/analytics/trends, category={}, bucket={}, {} - {}, splitByCategory={}",
+                    category, bucket, startDate, endDate, splitByCategory);
+            Map<String, Object> trends = bucket != null
+                    ? analyticsService.getSpendingTrends(category, bucket, startDate, endDate, splitByCategory)
+                    : analyticsService.getSpendingTrends(category);
             return ResponseEntity.ok(Map.of(
                     "status", "success",
                     "trends", trends
             ));
+        } catch (DateTimeParseException e) {
+            return buildError("Dates must be yyyy-MM-dd", HttpStatus.BAD_REQUEST);
+        } catch (IllegalArgumentException e) {
+            return buildError(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             log.error("Error fetching trends", e);
             return buildError("Failed to fetch trends", HttpStatus.INTERNAL_SERVER_ERROR);
@@ -143,7 +201,7 @@ public class AnalyticsController {
     }
 
     @PostMapping("/budget-check")
-    public ResponseEntity<?> budgetCheck(@RequestBody Map<String, Double> budget) {
+    public ResponseEntity<?> budgetCheck(@RequestBody Map<String, BigDecimal> budget) {
         try {
             log.info("POST /api/analytics/budget-check, body={}", budget);
             Map<String, Object> result = analyticsService.checkBudgetExceeded(budget);
@@ -157,6 +215,63 @@ public class AnalyticsController {
         }
     }
 
+    @GetMapping("/budgets")
+    public ResponseEntity<?> getBudgets(@RequestParam(required = false) String month) {
+        try {
+            log.info("GET /api/analytics/budgets, month={}", month);
+            Map<String, Object> result = budgetService.getBudgetStatus(parseMonth(month));
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "budgetAnalysis", result
+            ));
+        } catch (DateTimeParseException e) {
+            return buildError("Month must be yyyy-MM", HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("Error fetching budgets", e);
+            return buildError("Failed to fetch budgets", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PutMapping("/budgets")
+    public ResponseEntity<?> setBudgets(@RequestParam(required = false) String month,
+                                        @RequestBody Map<String, BigDecimal> budgets) {
+        try {
+            log.info("PUT /api/analytics/budgets, month={}, body={}", month, budgets);
+            Map<String, Object> result = budgetService.setBudgets(parseMonth(month), budgets);
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "budgetAnalysis", result
+            ));
+        } catch (DateTimeParseException e) {
+            return buildError("Month must be yyyy-MM", HttpStatus.BAD_REQUEST);
+        } catch (IllegalArgumentException e) {
+            return buildError(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("Error setting budgets", e);
+            return buildError("Failed to set budgets", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @DeleteMapping("/budgets/{category}")
+    public ResponseEntity<?> deleteBudget(@PathVariable String category,
+                                          @RequestParam(required = false) String month) {
+        try {
+            log.info("DELETE /api/analytics/budgets/{}, month={}", category, month);
+            if (!budgetService.deleteBudget(parseMonth(month), category)) {
+                return buildError("Budget not found", HttpStatus.NOT_FOUND);
+            }
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "message", "Budget deleted successfully"
+            ));
+        } catch (DateTimeParseException e) {
+            return buildError("Month must be yyyy-MM", HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("Error deleting budget", e);
+            return buildError("Failed to delete budget", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     @GetMapping("/savings-rate")
     public ResponseEntity<?> savingsRate() {
         try {
@@ -172,6 +287,55 @@ public class AnalyticsController {
         }
     }
 
+    @PostMapping("/rollup/rebuild")
+    public ResponseEntity<?> rebuildRollup() {
+        try {
+            log.info("POST /api/analytics/rollup/rebuild");
+            int rows = dailyTotalService.rebuild();
+            analyticsCache.clear();
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "rollupRows", rows
+            ));
+        } catch (Exception e) {
+            log.error("Error rebuilding daily totals", e);
+            return buildError("Failed to rebuild daily totals", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // SSE responses carry no JSON error body, so failures are plain status codes
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        try {
+            log.info("GET /api/analytics/stream");
+            SseEmitter emitter = analyticsStreamService.subscribe();
+            if (emitter == null) {
+                log.warn("Analytics stream subscriber limit reached");
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .build();
+            }
+            return ResponseEntity.ok(emitter);
+        } catch (Exception e) {
+            log.error("Error opening analytics stream", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> cacheStats() {
+        log.info("GET /api/analytics/cache/stats");
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "cache", analyticsCache.getStats()
+        ));
+    }
+
+    // Budgets are per calendar month; no month means the current one
+    private static YearMonth parseMonth(String month) {
+        return month != null && !month.isBlank() ? YearMonth.parse(month) : YearMonth.now();
+    }
+
     private ResponseEntity<Map<String, Object>> buildError(String message, HttpStatus status) {
         return ResponseEntity.status(status).body(Map.of(
                 "status", "error",
@@ -1,15 +1,19 @@
 package com.shivaansh.controller;
 
-import com.shivaansh.entity.Transaction;
-import com.shivaansh.repository.TransactionRepository;
-import com.shivaansh.service.CsvParserService;
+import com.shivaansh.service.IngestMode;
+import com.shivaansh.service.IngestStats;
+import com.shivaansh.service.TransactionIngestService;
+import com.shivaansh.service.UploadJob;
+import com.shivaansh.service.UploadJobService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/files")
@@ -17,22 +21,39 @@ import java.util.List;
 @Slf4j
 @CrossOrigin(origins="*")
 public class FileUploadController {
-    private final CsvParserService csvParserService;
-    private final TransactionRepository transactionRepository;
+    private final TransactionIngestService transactionIngestService;
+    private final UploadJobService uploadJobService;
 
     @PostMapping("/upload")
-    public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file,
+                                        @RequestParam(defaultValue = "false") boolean async,
+                                        @RequestParam(required = false) String mode) {
         try {
-            log.info("Received file upload: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
-            List<Transaction> transactions = csvParserService.parseTransactions(file);
+            log.info("Received file upload: {} ({} bytes), async={}, mode={}",
+                    file.getOriginalFilename(), file.getSize(), async, mode);
 
-            transactionRepository.saveAll(transactions);
-            log.info("Successfully processed {} transactions", transactions.size());
+            IngestMode ingestMode = mode != null ? IngestMode.parse(mode) : null;
 
-            return ResponseEntity.ok()
-                    .body("{\"status\":\"success\",\"transactionsProcessed\":" + transactions.size() + "}");
+            if (async) {
+                UploadJob job = uploadJobService.submit(file, ingestMode);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                        "status", "accepted",
+                        "jobId", job.getId(),
+                        "statusUrl", "/api/files/jobs/" + job.getId()
+                ));
+            }
 
+            IngestStats stats = transactionIngestService.ingest(file, ingestMode);
+            log.info("Successfully processed {} transactions", stats.getRowsPersisted());
 
+            Map<String, Object> response = stats.toMap();
+            response.put("status", "success");
+            return ResponseEntity.ok(response);
+
+        } catch (RejectedExecutionException e) {
+            log.warn("Upload job queue full, rejecting {}", file.getOriginalFilename());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body("{\"status\":\"error\",\"message\":\"Upload queue is full, retry later\"}");
         }  catch (Exception e) {
             log.error("File upload failed", e);
             return ResponseEntity.badRequest()
@@ -40,6 +61,31 @@ public class FileUploadController {
         }
     }
 
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<?> getJob(@PathVariable String id) {
+        UploadJob job = uploadJobService.getJob(id);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("{\"status\":\"error\",\"message\":\"Job not found\"}");
+        }
+        Map<String, Object> response = job.toMap();
+        response.put("status", "success");
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<?> cancelJob(@PathVariable String id) {
+        log.info("DELETE /api/files/jobs/{}", id);
+        UploadJob job = uploadJobService.cancel(id);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("{\"status\":\"error\",\"message\":\"Job not found\"}");
+        }
+        Map<String, Object> response = job.toMap();
+        response.put("status", "success");
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Finance Assistant Healthy");
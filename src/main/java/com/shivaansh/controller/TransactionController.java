@@ -2,15 +2,26 @@ package com.shivaansh.controller;
 
 
 import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+import com.shivaansh.service.BulkItemResult;
+import com.shivaansh.service.TransactionExportService;
 import com.shivaansh.service.TransactionService;
+import com.shivaansh.service.TransactionSlice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +33,10 @@ import java.util.Map;
 @CrossOrigin(origins ="*")
 public class TransactionController {
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+
+    @Value("${app.transactions.bulk-max-items:5000}")
+    private int bulkMaxItems;
 
     @GetMapping
     public ResponseEntity<?> getAllTransactions(
@@ -30,10 +45,28 @@ public class TransactionController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String sortBy,
-            @RequestParam(required = false) String direction) {
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) String cursor) {
         try {
-            log.info("GET /api/transactions - type={}, category={}, page={}, size={}, sortBy={}, direction={}",
-                    type, category, page, size, sortBy, direction);
+            log.info("GET /api/transactions - type={}, category={}, page={}, size={}, sortBy={}, direction={}, cursor={}",
+                    type, category, page, size, sortBy, direction, cursor);
+
+            if (cursor != null) {
+                if (size < 1) {
+                    return buildErrorResponse("Size must be at least 1", HttpStatus.BAD_REQUEST);
+                }
+                TransactionSlice slice =
+                        transactionService.getTransactionsAfter(type, category, cursor, size, sortBy, direction);
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("status", "success");
+                response.put("size", slice.transactions().size());
+                response.put("hasNext", slice.hasNext());
+                response.put("nextCursor", slice.nextCursor());
+                response.put("transactions", slice.transactions());
+
+                return ResponseEntity.ok(response);
+            }
 
             Page<Transaction> transactionPage =
                     transactionService.getAllTransactions(type, category, page, size, sortBy, direction);
@@ -47,6 +80,8 @@ public class TransactionController {
             response.put("transactions", transactionPage.getContent());
 
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return buildErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             log.error("Error fetching transactions", e);
             return buildErrorResponse("Failed to fetch transactions", HttpStatus.INTERNAL_SERVER_ERROR);
@@ -54,6 +89,39 @@ public class TransactionController {
     }
 
 
+    // The body must be typed as StreamingResponseBody for Spring MVC to stream it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+        log.info("GET /api/transactions/export - format={}, type={}, category={}, startDate={}, endDate={}",
+                format, type, category, startDate, endDate);
+
+        TransactionExportService.Format exportFormat;
+        TransactionType typeFilter;
+        LocalDate start;
+        LocalDate end;
+        try {
+            exportFormat = TransactionExportService.Format.parse(format);
+            typeFilter = type != null && !type.isBlank() ? TransactionType.parse(type) : null;
+            start = startDate != null ? LocalDate.parse(startDate) : null;
+            end = endDate != null ? LocalDate.parse(endDate) : null;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidExportRequestException(e.getMessage());
+        }
+
+        StreamingResponseBody body = out ->
+                transactionExportService.export(typeFilter, category, start, end, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getTransactionById(@PathVariable Long id) {
         try {
@@ -82,24 +150,9 @@ public class TransactionController {
         try {
             log.info("POST /api/transactions - Creating new transaction: {}", transaction);
 
-            if (transaction.getDate() == null) {
-                return buildErrorResponse("Date is required", HttpStatus.BAD_REQUEST);
-            }
-
-            if (transaction.getAmount() == null) {
-                return buildErrorResponse("Amount is required", HttpStatus.BAD_REQUEST);
-            }
-
-            if (transaction.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-                return buildErrorResponse("Amount must be greater than 0", HttpStatus.BAD_REQUEST);
-            }
-
-            if (transaction.getType() == null || transaction.getType().isEmpty()) {
-                return buildErrorResponse("Type is required", HttpStatus.BAD_REQUEST);
-            }
-
-            if (!transaction.getType().matches("(?i)INCOME|EXPENSE")) {
-                return buildErrorResponse("Type must be INCOME or EXPENSE", HttpStatus.BAD_REQUEST);
+            String validationError = TransactionService.validateNew(transaction);
+            if (validationError != null) {
+                return buildErrorResponse(validationError, HttpStatus.BAD_REQUEST);
             }
 
             Transaction savedTransaction = transactionService.saveTransaction(transaction);
@@ -121,24 +174,16 @@ public class TransactionController {
         try {
             log.info("PUT /api/transactions/{} - Updating transaction: {}", id, transactionDetails);
 
-            Transaction existingTransaction = transactionService.getTransactionById(id);
-            if (existingTransaction == null) {
-                log.warn("Transaction not found for update: {}", id);
-                return buildErrorResponse("Transaction not found", HttpStatus.NOT_FOUND);
-            }
-
-            if (transactionDetails.getAmount() != null &&
-                    transactionDetails.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-                return buildErrorResponse("Amount must be greater than 0", HttpStatus.BAD_REQUEST);
-            }
-
-            if (transactionDetails.getType() != null && !transactionDetails.getType().isEmpty()) {
-                if (!transactionDetails.getType().matches("(?i)INCOME|EXPENSE")) {
-                    return buildErrorResponse("Type must be INCOME or EXPENSE", HttpStatus.BAD_REQUEST);
-                }
+            String validationError = TransactionService.validateChanges(transactionDetails);
+            if (validationError != null) {
+                return buildErrorResponse(validationError, HttpStatus.BAD_REQUEST);
             }
 
             Transaction updatedTransaction = transactionService.updateTransaction(id, transactionDetails);
+            if (updatedTransaction == null) {
+                log.warn("Transaction not found for update: {}", id);
+                return buildErrorResponse("Transaction not found", HttpStatus.NOT_FOUND);
+            }
 
             Map<String, Object> response = new HashMap<>();
             response.put("status", "success");
@@ -157,14 +202,11 @@ public class TransactionController {
         try {
             log.info("DELETE /api/transactions/{}", id);
 
-            Transaction existingTransaction = transactionService.getTransactionById(id);
-            if (existingTransaction == null) {
+            if (!transactionService.deleteTransaction(id)) {
                 log.warn("Transaction not found for deletion: {}", id);
                 return buildErrorResponse("Transaction not found", HttpStatus.NOT_FOUND);
             }
 
-            transactionService.deleteTransaction(id);
-
             Map<String, Object> response = new HashMap<>();
             response.put("status", "success");
             response.put("message", "Transaction deleted successfully");
@@ -176,10 +218,85 @@ public class TransactionController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createTransactions(@RequestBody List<Transaction> transactions) {
+        try {
+            log.info("POST /api/transactions/bulk - {} items", transactions.size());
+            if (transactions.size() > bulkMaxItems) {
+                return buildErrorResponse("At most " + bulkMaxItems + " items per request", HttpStatus.BAD_REQUEST);
+            }
+            return ResponseEntity.ok(buildBulkResponse(transactionService.createTransactions(transactions)));
+        } catch (Exception e) {
+            log.error("Error bulk creating transactions", e);
+            return buildErrorResponse("Error creating transactions: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<?> updateTransactions(@RequestBody List<Transaction> transactions) {
+        try {
+            log.info("PUT /api/transactions/bulk - {} items", transactions.size());
+            if (transactions.size() > bulkMaxItems) {
+                return buildErrorResponse("At most " + bulkMaxItems + " items per request", HttpStatus.BAD_REQUEST);
+            }
+            return ResponseEntity.ok(buildBulkResponse(transactionService.updateTransactions(transactions)));
+        } catch (Exception e) {
+            log.error("Error bulk updating transactions", e);
+            return buildErrorResponse("Error updating transactions: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @DeleteMapping("/bulk")
+    public ResponseEntity<?> deleteTransactions(@RequestBody List<Long> ids) {
+        try {
+            log.info("DELETE /api/transactions/bulk - {} items", ids.size());
+            if (ids.size() > bulkMaxItems) {
+                return buildErrorResponse("At most " + bulkMaxItems + " items per request", HttpStatus.BAD_REQUEST);
+            }
+            return ResponseEntity.ok(buildBulkResponse(transactionService.deleteTransactions(ids)));
+        } catch (Exception e) {
+            log.error("Error bulk deleting transactions", e);
+            return buildErrorResponse("Error deleting transactions: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<?> handleUnreadableBody(HttpMessageNotReadableException e) {
+        // e.g. an unknown transaction type, rejected while binding the body
+        Throwable cause = e.getMostSpecificCause();
+        return buildErrorResponse(cause instanceof IllegalArgumentException ? cause.getMessage() : "Malformed request body",
+                HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidExportRequestException.class)
+    public ResponseEntity<?> handleInvalidExportRequest(InvalidExportRequestException e) {
+        return buildErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    private Map<String, Object> buildBulkResponse(List<BulkItemResult> results) {
+        Map<BulkItemResult.Status, Long> counts = new EnumMap<>(BulkItemResult.Status.class);
+        for (BulkItemResult result : results) {
+            counts.merge(result.status(), 1L, Long::sum);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("summary", counts);
+        response.put("results", results);
+        return response;
+    }
+
     private ResponseEntity<?> buildErrorResponse(String message, HttpStatus status) {
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("status", "error");
         errorResponse.put("message", message);
         return ResponseEntity.status(status).body(errorResponse);
     }
+
+    // Bad export parameters; the export returns a stream, so the JSON error comes from a handler
+    static final class InvalidExportRequestException extends RuntimeException {
+        InvalidExportRequestException(String message) {
+            super(message);
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package com.shivaansh.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Spending limit for one category in one calendar month. {@code month} is the first day of
+ * the month; the category is a dictionary id.
+ */
+@Entity
+@Table(name = "budgets")
+@IdClass(Budget.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Budget {
+    @Id
+    @Column(name = "month_start")
+    private LocalDate month;
+
+    @Id
+    @Column(name = "category_id")
+    private int categoryId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate month;
+        private int categoryId;
+    }
+}
@@ -0,0 +1,23 @@
+package com.shivaansh.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Category dictionary. Transactions store the integer id; {@code lookupKey} is the
+ * trimmed, lower-cased name so spellings that differ only in case share one entry.
+ */
+@Entity
+@Table(name = "categories")
+@Data
+public class Category {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false, unique = true)
+    private String lookupKey;
+}
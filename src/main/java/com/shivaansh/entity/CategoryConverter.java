@@ -0,0 +1,29 @@
+package com.shivaansh.entity;
+
+import com.shivaansh.repository.CategoryDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a category name as its dictionary id. Instantiated by Hibernate through the
+ * Spring bean container, so the dictionary is injected.
+ */
+@Converter
+public class CategoryConverter implements AttributeConverter<String, Integer> {
+
+    private final CategoryDictionary categoryDictionary;
+
+    public CategoryConverter(CategoryDictionary categoryDictionary) {
+        this.categoryDictionary = categoryDictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String category) {
+        return categoryDictionary.idFor(category);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return id != null ? categoryDictionary.nameOf(id) : null;
+    }
+}
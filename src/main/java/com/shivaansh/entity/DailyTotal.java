@@ -0,0 +1,46 @@
+package com.shivaansh.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rollup of transactions per day, type and category. Maintained incrementally on every
+ * write so range analytics cost scales with the number of days, not transactions.
+ * Keyed by {@link TransactionType} code and category dictionary id, with 0 for no category.
+ */
+@Entity
+@Table(name = "daily_totals")
+@IdClass(DailyTotal.Key.class)
+@Data
+public class DailyTotal {
+    @Id
+    private LocalDate date;
+
+    @Id
+    private short type;
+
+    @Id
+    @Column(name = "category_id")
+    private int categoryId;
+
+    @Column(nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private long txCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate date;
+        private short type;
+        private int categoryId;
+    }
+}
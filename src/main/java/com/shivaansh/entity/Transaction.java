@@ -1,6 +1,7 @@
 package com.shivaansh.entity;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -8,18 +9,38 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        // date lookups and ranges, unfiltered listings sorted by date (id breaks ties for cursor paging)
+        @Index(name = "idx_transactions_date", columnList = "date, id"),
+        // findByType listings sorted by date
+        @Index(name = "idx_transactions_type_date", columnList = "type, date, id"),
+        // findByCategory and findByTypeAndCategory listings sorted by date
+        @Index(name = "idx_transactions_category_type_date", columnList = "category_id, type, date"),
+        // largest expenses
+        @Index(name = "idx_transactions_type_amount", columnList = "type, amount"),
+        // upload dedup; null for rows created through the API
+        @Index(name = "idx_transactions_fingerprint", columnList = "fingerprint", unique = true)
+})
 @Data
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     private LocalDate date;
     private String description;
+
+    @Convert(converter = CategoryConverter.class)
+    @Column(name = "category_id")
     private String category;
+
     private BigDecimal amount;
-    private String type;
+    private TransactionType type;
+
+    // Content hash of the uploaded CSV row this came from; kept when the row is edited
+    @JsonIgnore
+    private Long fingerprint;
 
     @PrePersist
     public void prePersist() {
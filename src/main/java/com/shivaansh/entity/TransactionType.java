@@ -0,0 +1,47 @@
+package com.shivaansh.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * Transaction direction, stored as a small integer code (see {@link TransactionTypeConverter}).
+ */
+public enum TransactionType {
+    INCOME((short) 1),
+    EXPENSE((short) 2);
+
+    private final short code;
+
+    TransactionType(short code) {
+        this.code = code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static TransactionType fromCode(short code) {
+        for (TransactionType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown transaction type code: " + code);
+    }
+
+    /**
+     * Case-insensitive parse of "income"/"expense", ignoring surrounding whitespace.
+     */
+    @JsonCreator
+    public static TransactionType parse(String value) {
+        if (value != null) {
+            String trimmed = value.trim();
+            if (trimmed.equalsIgnoreCase("INCOME")) {
+                return INCOME;
+            }
+            if (trimmed.equalsIgnoreCase("EXPENSE")) {
+                return EXPENSE;
+            }
+        }
+        throw new IllegalArgumentException("Type must be INCOME or EXPENSE");
+    }
+}
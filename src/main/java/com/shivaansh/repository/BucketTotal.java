@@ -0,0 +1,14 @@
+package com.shivaansh.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Aggregated amount in cents and row count for one time bucket (named by its first day)
+ * and category id.
+ */
+public interface BucketTotal {
+    LocalDate getBucket();
+    int getCategoryId();
+    long getTotalCents();
+    long getCount();
+}
@@ -0,0 +1,14 @@
+package com.shivaansh.repository;
+
+import com.shivaansh.entity.Budget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Budget.Key> {
+
+    List<Budget> findByMonth(LocalDate month);
+}
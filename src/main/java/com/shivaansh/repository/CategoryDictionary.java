@@ -0,0 +1,141 @@
+package com.shivaansh.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory id &lt;-&gt; name cache over the {@code categories} table. Names are matched
+ * case-insensitively (trimmed, lower-cased lookup key); the first spelling seen becomes
+ * the canonical name. Blank names mean "no category".
+ *
+ * <p>New entries are registered on their own auto-commit connection, not in the caller's
+ * transaction, so an id handed out is never rolled back from under the cache. This also
+ * makes registration safe from inside a Hibernate flush (via {@link com.shivaansh.entity.CategoryConverter}).
+ */
+@Component
+@Slf4j
+public class CategoryDictionary {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO categories (name, lookup_key) VALUES (?, ?) ON CONFLICT DO NOTHING";
+    private static final String SELECT_BY_KEY_SQL = "SELECT id, name FROM categories WHERE lookup_key = ?";
+    private static final String SELECT_BY_ID_SQL = "SELECT id, name FROM categories WHERE id = ?";
+
+    public record Entry(int id, String name) {
+    }
+
+    // Wrapping the DataSource keeps JdbcTemplate from joining a transaction bound to the pool
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Entry> bySpelling = new ConcurrentHashMap<>();
+    private final Map<String, Entry> byKey = new ConcurrentHashMap<>();
+    private final Map<Integer, Entry> byId = new ConcurrentHashMap<>();
+
+    public CategoryDictionary(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(new DelegatingDataSource(dataSource));
+    }
+
+    /**
+     * Canonical name for {@code category}, registering it on first sight; null for blank input.
+     */
+    public String canonicalName(String category) {
+        Entry entry = resolve(category);
+        return entry != null ? entry.name() : null;
+    }
+
+    /**
+     * Dictionary id for {@code category}, registering it on first sight; null for blank input.
+     */
+    public Integer idFor(String category) {
+        Entry entry = resolve(category);
+        return entry != null ? entry.id() : null;
+    }
+
+    /**
+     * Dictionary id for an existing category, without registering unknown names.
+     */
+    public Optional<Integer> find(String category) {
+        if (category == null || category.isBlank()) {
+            return Optional.empty();
+        }
+        Entry entry = bySpelling.get(category);
+        if (entry == null) {
+            String key = lookupKey(category);
+            entry = byKey.get(key);
+            if (entry == null) {
+                entry = load(SELECT_BY_KEY_SQL, key);
+            }
+        }
+        return Optional.ofNullable(entry).map(Entry::id);
+    }
+
+    public String nameOf(int id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            entry = load(SELECT_BY_ID_SQL, id);
+            if (entry == null) {
+                throw new IllegalStateException("Unknown category id " + id);
+            }
+        }
+        return entry.name();
+    }
+
+    private Entry resolve(String category) {
+        if (category == null) {
+            return null;
+        }
+        Entry entry = bySpelling.get(category);
+        if (entry != null) {
+            return entry;
+        }
+        String name = category.trim();
+        if (name.isEmpty()) {
+            return null;
+        }
+        String key = lookupKey(name);
+        entry = byKey.get(key);
+        if (entry == null) {
+            entry = register(name, key);
+        }
+        // Bounded by the number of distinct spellings, which is small for a category column
+        bySpelling.put(category, entry);
+        return entry;
+    }
+
+    private synchronized Entry register(String name, String key) {
+        Entry entry = byKey.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        jdbcTemplate.update(INSERT_SQL, name, key);
+        entry = load(SELECT_BY_KEY_SQL, key);
+        if (entry == null) {
+            throw new IllegalStateException("Category '" + name + "' was not registered");
+        }
+        log.debug("Registered category '{}' as id {}", entry.name(), entry.id());
+        return entry;
+    }
+
+    private Entry load(String sql, Object arg) {
+        List<Entry> rows = jdbcTemplate.query(sql, (rs, n) -> new Entry(rs.getInt(1), rs.getString(2)), arg);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Entry entry = rows.get(0);
+        byKey.put(lookupKey(entry.name()), entry);
+        byId.put(entry.id(), entry);
+        return entry;
+    }
+
+    private static String lookupKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,10 @@
+package com.shivaansh.repository;
+
+/**
+ * Aggregated amount in cents and row count for one category id.
+ */
+public interface CategoryTotal {
+    int getCategoryId();
+    long getTotalCents();
+    long getCount();
+}
@@ -0,0 +1,59 @@
+package com.shivaansh.repository;
+
+import com.shivaansh.entity.DailyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyTotalRepository extends JpaRepository<DailyTotal, DailyTotal.Key> {
+
+    @Query("SELECT d.type AS type, CAST(COALESCE(SUM(d.totalAmount), 0) * 100 AS long) AS totalCents, COALESCE(SUM(d.txCount), 0) AS count " +
+            "FROM DailyTotal d GROUP BY d.type")
+    List<TypeTotal> sumByType();
+
+    @Query("SELECT d.type AS type, CAST(COALESCE(SUM(d.totalAmount), 0) * 100 AS long) AS totalCents, COALESCE(SUM(d.txCount), 0) AS count " +
+            "FROM DailyTotal d WHERE d.date BETWEEN :start AND :end GROUP BY d.type")
+    List<TypeTotal> sumByTypeBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT d.categoryId AS categoryId, CAST(COALESCE(SUM(d.totalAmount), 0) * 100 AS long) AS totalCents, COALESCE(SUM(d.txCount), 0) AS count " +
+            "FROM DailyTotal d WHERE d.type = :type GROUP BY d.categoryId")
+    List<CategoryTotal> sumByCategory(@Param("type") short type);
+
+    @Query("SELECT d.categoryId AS categoryId, CAST(COALESCE(SUM(d.totalAmount), 0) * 100 AS long) AS totalCents, COALESCE(SUM(d.txCount), 0) AS count " +
+            "FROM DailyTotal d WHERE d.type = :type AND d.date BETWEEN :start AND :end GROUP BY d.categoryId")
+    List<CategoryTotal> sumByCategoryBetween(@Param("type") short type,
+                                             @Param("start") LocalDate start,
+                                             @Param("end") LocalDate end);
+
+    // Trend series: one grouped pass, bucketed with date_trunc ('day', 'week', 'month', 'quarter');
+    // categoryId < 0 means all categories
+    @Query(value = "SELECT CAST(date_trunc(:unit, CAST(d.date AS timestamp)) AS date) AS bucket, " +
+            "d.category_id AS categoryId, CAST(SUM(d.total_amount) * 100 AS bigint) AS totalCents, " +
+            "SUM(d.tx_count) AS count " +
+            "FROM daily_totals d WHERE d.type = :type AND d.date BETWEEN :start AND :end " +
+            "AND (:categoryId < 0 OR d.category_id = :categoryId) " +
+            "GROUP BY 1, 2", nativeQuery = true)
+    List<BucketTotal> sumByBucketAndCategory(@Param("unit") String unit,
+                                             @Param("type") short type,
+                                             @Param("start") LocalDate start,
+                                             @Param("end") LocalDate end,
+                                             @Param("categoryId") int categoryId);
+
+    // Backfill
+    @Modifying
+    @Query(value = "LOCK TABLE daily_totals IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_totals (date, type, category_id, total_amount, tx_count) " +
+            "SELECT date, type, COALESCE(category_id, 0), COALESCE(SUM(amount), 0), COUNT(*) " +
+            "FROM transactions WHERE date IS NOT NULL AND type IS NOT NULL " +
+            "GROUP BY date, type, COALESCE(category_id, 0)", nativeQuery = true)
+    int insertFromTransactions();
+}
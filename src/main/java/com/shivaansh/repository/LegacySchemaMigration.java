@@ -0,0 +1,116 @@
+package com.shivaansh.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactions used to store category and type as free-form text. They now store a
+ * {@code categories} dictionary id and a small integer type code, which
+ * {@code ddl-auto=update} cannot convert on its own. This runs before the
+ * EntityManagerFactory (and so before Hibernate's schema update) and rewrites a legacy
+ * transactions table in one database transaction.
+ *
+ * <p>When the upload fingerprint column is introduced, rows already stored get the
+ * fingerprint their upload would have had (see {@code TransactionFingerprint}), so
+ * re-uploading an old file does not duplicate them. Identical rows are numbered over the
+ * whole table in id order, the same numbering later uploads continue from.
+ */
+@Component
+@Slf4j
+public class LegacySchemaMigration implements InitializingBean {
+
+    // Must produce the same value as TransactionFingerprint: md5 of
+    // date|amount|type|category_id|normalized description|occurrence, first 64 bits
+    private static final String FINGERPRINT_CONTENT_SQL =
+            "TO_CHAR(date, 'YYYY-MM-DD') || '|' || COALESCE(amount::text, '') || '|' || " +
+                    "COALESCE(type::text, '') || '|' || COALESCE(category_id::text, '') || '|' || " +
+                    "LOWER(BTRIM(REGEXP_REPLACE(COALESCE(description, ''), '\\s+', ' ', 'g')))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LegacySchemaMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        List<String> statements = new ArrayList<>();
+
+        if ("character varying".equals(columnType("transactions", "category"))) {
+            statements.add("CREATE TABLE IF NOT EXISTS categories (" +
+                    "id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "name VARCHAR(255) NOT NULL, " +
+                    "lookup_key VARCHAR(255) NOT NULL UNIQUE)");
+            statements.add("INSERT INTO categories (name, lookup_key) " +
+                    "SELECT MIN(TRIM(category)), LOWER(TRIM(category)) FROM transactions " +
+                    "WHERE TRIM(category) <> '' GROUP BY LOWER(TRIM(category)) " +
+                    "ON CONFLICT (lookup_key) DO NOTHING");
+            statements.add("ALTER TABLE transactions ADD COLUMN IF NOT EXISTS category_id INTEGER");
+            statements.add("UPDATE transactions t SET category_id = c.id FROM categories c " +
+                    "WHERE LOWER(TRIM(t.category)) = c.lookup_key");
+            statements.add("ALTER TABLE transactions DROP COLUMN category");
+        }
+        if ("character varying".equals(columnType("transactions", "type"))) {
+            statements.add("ALTER TABLE transactions ALTER COLUMN type TYPE SMALLINT USING " +
+                    "CASE UPPER(TRIM(type)) WHEN 'INCOME' THEN 1 WHEN 'EXPENSE' THEN 2 END");
+        }
+        if (columnType("transactions", "id") != null && columnType("transactions", "fingerprint") == null) {
+            statements.add("ALTER TABLE transactions ADD COLUMN fingerprint BIGINT");
+            statements.add("UPDATE transactions t SET fingerprint = f.fingerprint FROM (" +
+                    "SELECT id, ('x' || SUBSTR(MD5(content || '|' || " +
+                    "(ROW_NUMBER() OVER (PARTITION BY content ORDER BY id) - 1)), 1, 16))::bit(64)::bigint AS fingerprint " +
+                    "FROM (SELECT id, " + FINGERPRINT_CONTENT_SQL + " AS content FROM transactions) c" +
+                    ") f WHERE t.id = f.id");
+        }
+
+        if (statements.isEmpty()) {
+            return;
+        }
+        log.info("Migrating legacy transaction schema ({} statements)", statements.size());
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try (Statement statement = con.createStatement()) {
+                for (String sql : statements) {
+                    statement.execute(sql);
+                }
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+        log.info("Legacy transaction schema migrated");
+    }
+
+    private String columnType(String table, String column) {
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns " +
+                        "WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?",
+                String.class, table, column);
+        return types.isEmpty() ? null : types.get(0);
+    }
+
+    /**
+     * Makes the EntityManagerFactory wait for the migration.
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnMigration extends EntityManagerFactoryDependsOnPostProcessor {
+        EntityManagerFactoryDependsOnMigration() {
+            super(LegacySchemaMigration.class);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.shivaansh.repository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Times every Spring Data repository call ({@code repository.query}, tagged by repository,
+ * method and outcome) and records how many rows query methods return
+ * ({@code repository.query.rows}). Counts, existence checks and writes get a timing only.
+ * A {@link Stream} result is timed until it is closed, with the rows actually consumed.
+ */
+@Component
+class RepositoryMetrics implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    RepositoryMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            new Interceptor(information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private record MethodMeters(Timer success, Timer failure, DistributionSummary rows) {
+    }
+
+    private final class Interceptor implements MethodInterceptor {
+
+        private final String repository;
+        private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+        Interceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MethodMeters methodMeters = meters.computeIfAbsent(invocation.getMethod(), this::register);
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invocation.proceed();
+            } catch (Throwable e) {
+                methodMeters.failure().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+
+            if (result instanceof Stream<?> stream) {
+                long[] rows = {0};
+                return stream.peek(row -> rows[0]++).onClose(() -> {
+                    methodMeters.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    methodMeters.rows().record(rows[0]);
+                });
+            }
+            methodMeters.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            long rows = rowCount(result);
+            if (rows >= 0) {
+                methodMeters.rows().record(rows);
+            }
+            return result;
+        }
+
+        private MethodMeters register(Method method) {
+            MeterRegistry registry = meterRegistry.getObject();
+            return new MethodMeters(timer(registry, method, "success"), timer(registry, method, "failure"),
+                    DistributionSummary.builder("repository.query.rows")
+                            .baseUnit(BaseUnits.ROWS)
+                            .tag("repository", repository)
+                            .tag("method", method.getName())
+                            .register(registry));
+        }
+
+        private Timer timer(MeterRegistry registry, Method method, String outcome) {
+            return Timer.builder("repository.query")
+                    .tag("repository", repository)
+                    .tag("method", method.getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        // -1 for results that are not rows (counts, flags, void)
+        private static long rowCount(Object result) {
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Window<?> window) {
+                return window.size();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (result == null || result instanceof Number || result instanceof Boolean) {
+                return -1;
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.shivaansh.repository;
+
+import com.shivaansh.entity.Transaction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Writes new transactions with PostgreSQL's {@code COPY ... FROM STDIN} (text format)
+ * instead of one INSERT per row. Runs on the connection of the caller's transaction, so
+ * the rows commit or roll back with everything else the caller does.
+ *
+ * <p>Ids are drawn from {@code transactions_seq} exactly as Hibernate's pooled optimizer
+ * does: each sequence value {@code v} reserves the block {@code v-49..v}. The copied rows
+ * therefore never collide with ids handed out to JPA inserts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionCopyWriter {
+
+    private static final String COPY_SQL =
+            "COPY transactions (id, date, description, category_id, amount, type, fingerprint) FROM STDIN";
+    private static final String NEXT_BLOCKS_SQL = "SELECT nextval('transactions_seq') FROM generate_series(1, ?)";
+    // Must match the allocationSize of Transaction's @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryDictionary categoryDictionary;
+
+    /**
+     * Copies {@code batch} into the transactions table and sets each row's id. Must be
+     * called inside a transaction.
+     */
+    public long copy(List<Transaction> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        assignIds(batch);
+
+        StringBuilder rows = new StringBuilder(batch.size() * 96);
+        for (Transaction t : batch) {
+            rows.append(t.getId()).append('\t');
+            appendValue(rows, t.getDate());
+            rows.append('\t');
+            appendText(rows, t.getDescription());
+            rows.append('\t');
+            appendValue(rows, categoryDictionary.idFor(t.getCategory()));
+            rows.append('\t');
+            appendValue(rows, t.getAmount() != null ? t.getAmount().toPlainString() : null);
+            rows.append('\t');
+            appendValue(rows, t.getType() != null ? t.getType().getCode() : null);
+            rows.append('\t');
+            appendValue(rows, t.getFingerprint());
+            rows.append('\n');
+        }
+
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(rows.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.debug("Copied {} transactions", copied);
+        return copied != null ? copied : 0;
+    }
+
+    private void assignIds(List<Transaction> batch) {
+        int blocks = (batch.size() + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+        int index = 0;
+        while (index < batch.size()) {
+            for (long hi : jdbcTemplate.queryForList(NEXT_BLOCKS_SQL, Long.class, blocks)) {
+                // A fresh sequence starts at 1, which would reserve ids below 1
+                if (hi < ALLOCATION_SIZE) {
+                    continue;
+                }
+                for (long id = hi - ALLOCATION_SIZE + 1; id <= hi && index < batch.size(); id++) {
+                    batch.get(index++).setId(id);
+                }
+            }
+            blocks = 1;
+        }
+    }
+
+    private static void appendValue(StringBuilder rows, Object value) {
+        if (value == null) {
+            rows.append("\\N");
+        } else {
+            rows.append(value);
+        }
+    }
+
+    // Text format: backslash, tab, newline and carriage return must be escaped
+    private static void appendText(StringBuilder rows, String value) {
+        if (value == null) {
+            rows.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> rows.append("\\\\");
+                case '\t' -> rows.append("\\t");
+                case '\n' -> rows.append("\\n");
+                case '\r' -> rows.append("\\r");
+                default -> rows.append(c);
+            }
+        }
+    }
+}
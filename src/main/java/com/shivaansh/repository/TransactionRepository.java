@@ -1,24 +1,65 @@
 package com.shivaansh.repository;
 
 import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
     // Existing methods
     List<Transaction> findByDateBetween(LocalDate start, LocalDate end);
-    List<Transaction> findByType(String type);
+    List<Transaction> findByDate(LocalDate date);
+    List<Transaction> findByType(TransactionType type);
     List<Transaction> findByCategory(String category);
 
     // New paged methods
-    Page<Transaction> findByType(String type, Pageable pageable);
+    Page<Transaction> findByType(TransactionType type, Pageable pageable);
     Page<Transaction> findByCategory(String category, Pageable pageable);
-    Page<Transaction> findByTypeAndCategory(String type, String category, Pageable pageable);
+    Page<Transaction> findByTypeAndCategory(TransactionType type, String category, Pageable pageable);
+
+    // Export: streamed through a database cursor; null filters match everything. PostgreSQL
+    // cannot infer the type of a bare "? IS NULL" date parameter, hence the casts
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t FROM Transaction t " +
+            "WHERE (:type IS NULL OR t.type = :type) " +
+            "AND (:category IS NULL OR t.category = :category) " +
+            "AND (CAST(:start AS LocalDate) IS NULL OR t.date >= :start) " +
+            "AND (CAST(:end AS LocalDate) IS NULL OR t.date <= :end) " +
+            "ORDER BY t.id")
+    Stream<Transaction> streamForExport(@Param("type") TransactionType type,
+                                        @Param("category") String category,
+                                        @Param("start") LocalDate start,
+                                        @Param("end") LocalDate end);
+
+    // Largest amounts first; unfiltered, this reads the (type, amount) index backwards and stops after the limit
+    List<Transaction> findByTypeOrderByAmountDesc(TransactionType type, Limit limit);
+    List<Transaction> findByTypeAndDateBetweenOrderByAmountDesc(TransactionType type, LocalDate start, LocalDate end,
+                                                               Limit limit);
+    List<Transaction> findByTypeAndCategoryOrderByAmountDesc(TransactionType type, String category, Limit limit);
+    List<Transaction> findByTypeAndCategoryAndDateBetweenOrderByAmountDesc(TransactionType type, String category,
+                                                                          LocalDate start, LocalDate end,
+                                                                          Limit limit);
+
+    // Keyset (cursor) scrolling, no count query
+    Window<Transaction> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<Transaction> findByType(TransactionType type, ScrollPosition position, Sort sort, Limit limit);
+    Window<Transaction> findByCategory(String category, ScrollPosition position, Sort sort, Limit limit);
+    Window<Transaction> findByTypeAndCategory(TransactionType type, String category, ScrollPosition position, Sort sort, Limit limit);
 }
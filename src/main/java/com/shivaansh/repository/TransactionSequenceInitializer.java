@@ -0,0 +1,34 @@
+package com.shivaansh.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Transaction ids used to come from an IDENTITY column. Now that they are allocated
+ * from {@code transactions_seq} in pooled blocks, move the sequence past any id
+ * already in the table so existing databases keep working after the switch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionSequenceInitializer implements InitializingBean {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    // Depend on the repository so the schema (and sequence) exist before we run
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    public void afterPropertiesSet() {
+        Long value = jdbcTemplate.queryForObject(
+                "SELECT setval('transactions_seq', GREATEST(" +
+                        "(SELECT last_value FROM transactions_seq), " +
+                        "(SELECT COALESCE(MAX(id), 0) FROM transactions) + ?))",
+                Long.class, ALLOCATION_SIZE);
+        log.debug("transactions_seq positioned at {}", value);
+    }
+}
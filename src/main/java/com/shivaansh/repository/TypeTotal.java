@@ -0,0 +1,10 @@
+package com.shivaansh.repository;
+
+/**
+ * Aggregated amount in cents and row count for one transaction type.
+ */
+public interface TypeTotal {
+    short getType();
+    long getTotalCents();
+    long getCount();
+}
@@ -0,0 +1,34 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source of the aggregates behind {@link AnalyticsService}. Selected with
+ * {@code app.analytics.backend}: {@code database} (the daily_totals rollup) or
+ * {@code columnar} (an in-process copy of all transactions in primitive columns).
+ *
+ * <p>Date bounds are inclusive; {@code null} means unbounded. A {@code category} filter is
+ * a canonical category name ({@code null} for all categories).
+ */
+public interface AnalyticsBackend {
+
+    TypeTotals totals(LocalDate start, LocalDate end);
+
+    Map<String, CategoryStats> expensesByCategory(LocalDate start, LocalDate end);
+
+    /**
+     * Expense totals per {@code bucket} between {@code start} and {@code end} (both required
+     * here), keyed by bucket start date and then category name. Empty buckets are absent.
+     */
+    Map<LocalDate, Map<String, CategoryStats>> expensesByBucket(TrendBucket bucket, LocalDate start, LocalDate end,
+                                                                 String category);
+
+    /**
+     * The {@code limit} largest expenses, largest first, without sorting or loading all of them.
+     */
+    List<Transaction> topExpenses(int limit, LocalDate start, LocalDate end, String category);
+}
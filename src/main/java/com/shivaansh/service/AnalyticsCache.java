@@ -0,0 +1,187 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of analytics results with a time-to-live, keyed by method and
+ * parameters. Each entry records the date range and category its result depends on, and
+ * committed writes invalidate only the entries whose scope overlaps the changed rows.
+ *
+ * <p>Invalidation runs after the analytics backends have applied the same change (see
+ * {@link #INVALIDATION_ORDER}), and results computed while an invalidation was in flight
+ * are not stored, so a stale value is never cached.
+ */
+@Component
+@Slf4j
+public class AnalyticsCache {
+
+    /** Listener order for invalidation: after every backend has applied the change. */
+    public static final int INVALIDATION_ORDER = 100;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public AnalyticsCache(@Value("${app.analytics.cache.enabled:true}") boolean enabled,
+                          @Value("${app.analytics.cache.max-entries:500}") int maxEntries,
+                          @Value("${app.analytics.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    /**
+     * The rows a cached result depends on: transactions dated within {@code [start, end]}
+     * ({@code null} = unbounded) and, if {@code category} is set, only that category. A
+     * scope unbounded at both ends also covers rows without a date.
+     */
+    public record Scope(LocalDate start, LocalDate end, String category) {
+
+        public static final Scope ALL = new Scope(null, null, null);
+
+        public static Scope between(LocalDate start, LocalDate end) {
+            return new Scope(start, end, null);
+        }
+
+        boolean overlaps(LocalDate minDate, LocalDate maxDate, boolean undated, Set<String> categories) {
+            if (category != null && !categories.contains(category)) {
+                return false;
+            }
+            if (undated && start == null && end == null) {
+                return true;
+            }
+            if (minDate == null) {
+                return false;
+            }
+            if (start != null && maxDate.isBefore(start)) {
+                return false;
+            }
+            return end == null || !minDate.isAfter(end);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Scope scope, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.createdNanos < ttlNanos) {
+                    hits++;
+                    return (T) entry.value;
+                }
+                entries.remove(key);
+                expirations++;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        T value = loader.get();
+
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(key, new Entry(value, scope, System.nanoTime()));
+                evictOverflow();
+            }
+        }
+        return value;
+    }
+
+    @Order(INVALIDATION_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        LocalDate minDate = null;
+        LocalDate maxDate = null;
+        boolean undated = false;
+        Set<String> categories = new HashSet<>();
+        for (List<Transaction> side : List.of(event.added(), event.removed())) {
+            for (Transaction t : side) {
+                LocalDate date = t.getDate();
+                if (date != null) {
+                    minDate = minDate == null || date.isBefore(minDate) ? date : minDate;
+                    maxDate = maxDate == null || date.isAfter(maxDate) ? date : maxDate;
+                } else {
+                    undated = true;
+                }
+                categories.add(t.getCategory() != null ? t.getCategory() : "");
+            }
+        }
+        if (minDate == null && !undated) {
+            return;
+        }
+
+        synchronized (this) {
+            generation++;
+            int removed = 0;
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                if (it.next().scope.overlaps(minDate, maxDate, undated, categories)) {
+                    it.remove();
+                    removed++;
+                }
+            }
+            invalidations += removed;
+            log.debug("Invalidated {} analytics cache entries for {} to {}", removed, minDate, maxDate);
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlNanos / 1_000_000_000L);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", hits + misses > 0 ? (double) hits / (hits + misses) : 0);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        stats.put("invalidations", invalidations);
+        return stats;
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private record Entry(Object value, Scope scope, long createdNanos) {
+    }
+}
@@ -2,54 +2,57 @@ package com.shivaansh.service;
 
 
 import com.shivaansh.entity.Transaction;
+import com.shivaansh.repository.CategoryDictionary;
 import com.shivaansh.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AnalyticsService {
+    public static final Set<String> DASHBOARD_SECTIONS = Set.of(
+            "summary", "comparison", "savingsRate", "categoryBreakdown", "currentMonth", "topExpenses");
+
+    private static final int DEFAULT_TREND_BUCKETS = 12;
+    private static final int MAX_TREND_BUCKETS = 3660;
+
     private final TransactionRepository transactionRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final AnalyticsBackend analyticsBackend;
+    private final AnalyticsCache analyticsCache;
 
     // 1. FINANCIAL SUMMARY
+    /**
+     * All-time totals. {@code transactionCount} counts every stored transaction, including
+     * rows without a date or type that the income and expense totals leave out.
+     */
     public Map<String, Object> getFinancialSummary() {
         log.debug("Calculating financial summary");
 
-        double totalIncome = calculateTotalIncome();
-        double totalExpense = calculateTotalExpense();
-        double netBalance = totalIncome - totalExpense;
-        long transactionCount = transactionRepository.count();
-
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("totalIncome", totalIncome);
-        summary.put("totalExpense", totalExpense);
-        summary.put("netBalance", netBalance);
-        summary.put("transactionCount", transactionCount);
-        summary.put("savingsPercentage", totalIncome > 0 ? (netBalance / totalIncome * 100) : 0);
-
-        return summary;
+        return analyticsCache.get("summary", AnalyticsCache.Scope.ALL,
+                () -> buildSummary(analyticsBackend.totals(null, null)));
     }
 
     // 2. EXPENSE BY CATEGORY
-    public Map<String, Double> getExpenseByCategoryBreakdown() {
+    public Map<String, BigDecimal> getExpenseByCategoryBreakdown() {
         log.debug("Calculating expense by category");
 
-        return transactionRepository.findByType("EXPENSE")
-                .stream()
-                .collect(Collectors.groupingBy(
-                        Transaction::getCategory,
-                        Collectors.summingDouble(t -> t.getAmount().doubleValue())
-                ));
+        return analyticsCache.get("by-category", AnalyticsCache.Scope.ALL,
+                () -> toCategoryMap(analyticsBackend.expensesByCategory(null, null)));
     }
 
     // 3. DAILY ANALYTICS
@@ -60,30 +63,21 @@ public class AnalyticsService {
                 LocalDate.parse(dateString, DateTimeFormatter.ofPattern("yyyy-MM-dd")) :
                 LocalDate.now();
 
-        List<Transaction> dailyTransactions = transactionRepository.findAll()
-                .stream()
-                .filter(t -> t.getDate().equals(date))
-                .collect(Collectors.toList());
-
-        double dailyIncome = dailyTransactions.stream()
-                .filter(t -> "INCOME".equalsIgnoreCase(t.getType()))
-                .mapToDouble(t -> t.getAmount().doubleValue())
-                .sum();
-
-        double dailyExpense = dailyTransactions.stream()
-                .filter(t -> "EXPENSE".equalsIgnoreCase(t.getType()))
-                .mapToDouble(t -> t.getAmount().doubleValue())
-                .sum();
-
-        Map<String, Object> daily = new HashMap<>();
-        daily.put("date", date);
-        daily.put("income", dailyIncome);
-        daily.put("expense", dailyExpense);
-        daily.put("netDaily", dailyIncome - dailyExpense);
-        daily.put("transactionCount", dailyTransactions.size());
-        daily.put("transactions", dailyTransactions);
-
-        return daily;
+        return analyticsCache.get("daily:" + date, AnalyticsCache.Scope.between(date, date), () -> {
+            List<Transaction> dailyTransactions = transactionRepository.findByDate(date);
+
+            TypeTotals totals = analyticsBackend.totals(date, date);
+
+            Map<String, Object> daily = new HashMap<>();
+            daily.put("date", date);
+            daily.put("income", totals.getIncome());
+            daily.put("expense", totals.getExpense());
+            daily.put("netDaily", totals.getNet());
+            daily.put("transactionCount", totals.getCount());
+            daily.put("transactions", dailyTransactions);
+
+            return daily;
+        });
     }
 
     // 4. DATE RANGE ANALYTICS
@@ -93,28 +87,23 @@ public class AnalyticsService {
         LocalDate startDate = LocalDate.parse(startDateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
         LocalDate endDate = LocalDate.parse(endDateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
 
-        List<Transaction> transactions = transactionRepository.findByDateBetween(startDate, endDate);
-
-        double rangeIncome = transactions.stream()
-                .filter(t -> "INCOME".equalsIgnoreCase(t.getType()))
-                .mapToDouble(t -> t.getAmount().doubleValue())
-                .sum();
-
-        double rangeExpense = transactions.stream()
-                .filter(t -> "EXPENSE".equalsIgnoreCase(t.getType()))
-                .mapToDouble(t -> t.getAmount().doubleValue())
-                .sum();
-
-        Map<String, Object> dateRange = new HashMap<>();
-        dateRange.put("startDate", startDate);
-        dateRange.put("endDate", endDate);
-        dateRange.put("income", rangeIncome);
-        dateRange.put("expense", rangeExpense);
-        dateRange.put("netBalance", rangeIncome - rangeExpense);
-        dateRange.put("transactionCount", transactions.size());
-        dateRange.put("averageDailyExpense", transactions.size() > 0 ? rangeExpense / getDaysBetween(startDate, endDate) : 0);
-
-        return dateRange;
+        return analyticsCache.get("range:" + startDate + ":" + endDate,
+                AnalyticsCache.Scope.between(startDate, endDate), () -> {
+            TypeTotals totals = analyticsBackend.totals(startDate, endDate);
+
+            Map<String, Object> dateRange = new HashMap<>();
+            dateRange.put("startDate", startDate);
+            dateRange.put("endDate", endDate);
+            dateRange.put("income", totals.getIncome());
+            dateRange.put("expense", totals.getExpense());
+            dateRange.put("netBalance", totals.getNet());
+            dateRange.put("transactionCount", totals.getCount());
+            dateRange.put("averageDailyExpense", totals.getCount() > 0
+                    ? Money.divide(totals.getExpenseCents(), getDaysBetween(startDate, endDate))
+                    : Money.fromCents(0));
+
+            return dateRange;
+        });
     }
 
     // 5. MONTHLY ANALYTICS
@@ -128,163 +117,325 @@ public class AnalyticsService {
         LocalDate startOfMonth = yearMonth.atDay(1);
         LocalDate endOfMonth = yearMonth.atEndOfMonth();
 
-        List<Transaction> monthlyTransactions = transactionRepository.findByDateBetween(startOfMonth, endOfMonth);
-
-        double monthlyIncome = monthlyTransactions.stream()
-                .filter(t -> "INCOME".equalsIgnoreCase(t.getType()))
-                .mapToDouble(t -> t.getAmount().doubleValue())
-                .sum();
-
-        double monthlyExpense = monthlyTransactions.stream()
-                .filter(t -> "EXPENSE".equalsIgnoreCase(t.getType()))
-                .mapToDouble(t -> t.getAmount().doubleValue())
-                .sum();
-
-        Map<String, Double> categoryBreakdown = monthlyTransactions.stream()
-                .filter(t -> "EXPENSE".equalsIgnoreCase(t.getType()))
-                .collect(Collectors.groupingBy(
-                        Transaction::getCategory,
-                        Collectors.summingDouble(t -> t.getAmount().doubleValue())
-                ));
-
-        Map<String, Object> monthly = new HashMap<>();
-        monthly.put("yearMonth", yearMonth.toString());
-        monthly.put("income", monthlyIncome);
-        monthly.put("expense", monthlyExpense);
-        monthly.put("netSavings", monthlyIncome - monthlyExpense);
-        monthly.put("categoryBreakdown", categoryBreakdown);
-        monthly.put("transactionCount", monthlyTransactions.size());
-
-        return monthly;
+        return analyticsCache.get("monthly:" + yearMonth,
+                AnalyticsCache.Scope.between(startOfMonth, endOfMonth), () -> buildMonthly(yearMonth));
     }
 
     // 6. INCOME VS EXPENSE COMPARISON
     public Map<String, Object> getIncomeVsExpenseComparison() {
         log.debug("Calculating income vs expense comparison");
 
-        double totalIncome = calculateTotalIncome();
-        double totalExpense = calculateTotalExpense();
-
-        Map<String, Object> comparison = new HashMap<>();
-        comparison.put("income", totalIncome);
-        comparison.put("expense", totalExpense);
-        comparison.put("balance", totalIncome - totalExpense);
-        comparison.put("incomePercentage", totalIncome + totalExpense > 0 ? (totalIncome / (totalIncome + totalExpense) * 100) : 0);
-        comparison.put("expensePercentage", totalIncome + totalExpense > 0 ? (totalExpense / (totalIncome + totalExpense) * 100) : 0);
-
-        return comparison;
+        return analyticsCache.get("comparison", AnalyticsCache.Scope.ALL,
+                () -> buildComparison(analyticsBackend.totals(null, null)));
     }
 
     // 7. TOP EXPENSES
-    public List<Transaction> getTopExpenses(int limit) {
-        log.debug("Fetching top {} expenses", limit);
-
-        return transactionRepository.findByType("EXPENSE")
-                .stream()
-                .sorted((t1, t2) -> t2.getAmount().compareTo(t1.getAmount()))
-                .limit(limit)
-                .collect(Collectors.toList());
+    public List<Transaction> getTopExpenses(int limit, String startDateStr, String endDateStr, String category) {
+        log.debug("Fetching top {} expenses: {} to {}, category={}", limit, startDateStr, endDateStr, category);
+
+        LocalDate startDate = startDateStr != null ? LocalDate.parse(startDateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd")) : null;
+        LocalDate endDate = endDateStr != null ? LocalDate.parse(endDateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd")) : null;
+        String filter = canonicalCategory(category);
+
+        return analyticsCache.get("top-expenses:" + limit + ":" + startDate + ":" + endDate + ":" + filter,
+                new AnalyticsCache.Scope(startDate, endDate, filter),
+                () -> analyticsBackend.topExpenses(limit, startDate, endDate, filter));
     }
 
     // 8. SPENDING TRENDS
     public Map<String, Object> getSpendingTrends(String category) {
         log.debug("Calculating spending trends for category: {}", category);
+        String filter = canonicalCategory(category);
+
+        return analyticsCache.get("trends:" + filter,
+                new AnalyticsCache.Scope(null, null, filter), () -> {
+            long totalSpendingCents = 0;
+            long expenseCount = 0;
+            for (Map.Entry<String, CategoryStats> entry : analyticsBackend.expensesByCategory(null, null).entrySet()) {
+                if (filter == null || filter.equals(entry.getKey())) {
+                    totalSpendingCents += entry.getValue().totalCents();
+                    expenseCount += entry.getValue().count();
+                }
+            }
+
+            Map<String, Object> trends = new HashMap<>();
+            trends.put("totalExpenses", Money.fromCents(totalSpendingCents));
+            trends.put("transactionCount", expenseCount);
+            trends.put("averageExpense", Money.divide(totalSpendingCents, expenseCount));
+            trends.put("category", filter != null ? filter : "All Categories");
+
+            return trends;
+        });
+    }
 
-        List<Transaction> expenses = category != null ?
-                transactionRepository.findByCategory(category).stream()
-                        .filter(t -> "EXPENSE".equalsIgnoreCase(t.getType()))
-                        .collect(Collectors.toList()) :
-                transactionRepository.findByType("EXPENSE");
-
-        double totalSpending = expenses.stream()
-                .mapToDouble(t -> t.getAmount().doubleValue())
-                .sum();
-
-        Map<String, Object> trends = new HashMap<>();
-        trends.put("totalExpenses", totalSpending);
-        trends.put("transactionCount", expenses.size());
-        trends.put("averageExpense", expenses.size() > 0 ? totalSpending / expenses.size() : 0);
-        trends.put("category", category != null ? category : "All Categories");
-
-        return trends;
+    /**
+     * Expense series over {@code [startDate, endDate]} in {@code bucket} periods, one grouped
+     * aggregation for the whole range. Every bucket is present (zero when it has no rows),
+     * per category when {@code splitByCategory}. {@code endDate} defaults to today and
+     * {@code startDate} to 12 buckets back. Totals, count and average cover the range.
+     */
+    public Map<String, Object> getSpendingTrends(String category, String bucketName, String startDateStr,
+                                                 String endDateStr, boolean splitByCategory) {
+        log.debug("Calculating {} spending trends for category {}: {} to {}, split={}",
+                bucketName, category, startDateStr, endDateStr, splitByCategory);
+
+        TrendBucket bucket = TrendBucket.parse(bucketName);
+        LocalDate endDate = endDateStr != null ? LocalDate.parse(endDateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd")) : LocalDate.now();
+        LocalDate startDate;
+        if (startDateStr != null) {
+            startDate = LocalDate.parse(startDateStr, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        } else {
+            startDate = bucket.truncate(endDate);
+            for (int i = 1; i < DEFAULT_TREND_BUCKETS; i++) {
+                startDate = bucket.truncate(startDate.minusDays(1));
+            }
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        List<LocalDate> periods = new ArrayList<>();
+        for (LocalDate period = bucket.truncate(startDate); !period.isAfter(endDate); period = bucket.next(period)) {
+            if (periods.size() == MAX_TREND_BUCKETS) {
+                throw new IllegalArgumentException("At most " + MAX_TREND_BUCKETS + " buckets per series");
+            }
+            periods.add(period);
+        }
+        String filter = canonicalCategory(category);
+        LocalDate start = startDate;
+
+        return analyticsCache.get("trends:" + bucket + ":" + start + ":" + endDate + ":" + filter + ":" + splitByCategory,
+                new AnalyticsCache.Scope(start, endDate, filter), () -> {
+            Map<LocalDate, Map<String, CategoryStats>> buckets =
+                    analyticsBackend.expensesByBucket(bucket, start, endDate, filter);
+
+            long totalCents = 0;
+            long count = 0;
+            Set<String> categories = new TreeSet<>();
+            for (Map<String, CategoryStats> byCategory : buckets.values()) {
+                categories.addAll(byCategory.keySet());
+                for (CategoryStats stats : byCategory.values()) {
+                    totalCents += stats.totalCents();
+                    count += stats.count();
+                }
+            }
+
+            Map<String, Object> trends = new HashMap<>();
+            trends.put("category", filter != null ? filter : "All Categories");
+            trends.put("bucket", bucket.sqlUnit());
+            trends.put("startDate", start);
+            trends.put("endDate", endDate);
+            trends.put("totalExpenses", Money.fromCents(totalCents));
+            trends.put("transactionCount", count);
+            trends.put("averageExpense", Money.divide(totalCents, count));
+            if (splitByCategory) {
+                Map<String, List<Map<String, Object>>> series = new TreeMap<>();
+                for (String name : categories) {
+                    series.put(name, buildSeries(periods, buckets, Set.of(name)));
+                }
+                trends.put("series", series);
+            } else {
+                trends.put("series", buildSeries(periods, buckets, categories));
+            }
+            return trends;
+        });
     }
 
     // 9. BUDGET CHECK
-    public Map<String, Object> checkBudgetExceeded(Map<String, Double> budgets) {
+    public Map<String, Object> checkBudgetExceeded(Map<String, BigDecimal> budgets) {
         log.debug("Checking budget status");
 
-        Map<String, Double> categoryExpenses = getExpenseByCategoryBreakdown();
-        Map<String, Object> budgetStatus = new HashMap<>();
-        Map<String, Object> categoryStatus = new HashMap<>();
+        return analyticsCache.get("budget-check:" + new TreeMap<>(budgets), AnalyticsCache.Scope.ALL, () -> {
+            Map<String, CategoryStats> categoryExpenses = analyticsBackend.expensesByCategory(null, null);
+            Map<String, Object> budgetStatus = new HashMap<>();
+            Map<String, Object> categoryStatus = new HashMap<>();
+
+            long totalBudgetCents = 0;
+            long totalActualCents = 0;
+            int categoriesExceeded = 0;
+
+            for (String category : budgets.keySet()) {
+                long budgetCents = Money.toCents(budgets.get(category));
+                CategoryStats actual = categoryExpenses.get(category);
+                long actualCents = actual != null ? actual.totalCents() : 0;
+
+                totalBudgetCents += budgetCents;
+                totalActualCents += actualCents;
+
+                boolean exceeded = actualCents > budgetCents;
+                if (exceeded) categoriesExceeded++;
+
+                Map<String, Object> catStatus = new HashMap<>();
+                catStatus.put("budget", Money.fromCents(budgetCents));
+                catStatus.put("actual", Money.fromCents(actualCents));
+                catStatus.put("remaining", Money.fromCents(budgetCents - actualCents));
+                catStatus.put("percentage", Money.percent(actualCents, budgetCents));
+                catStatus.put("exceeded", exceeded);
+
+                categoryStatus.put(category, catStatus);
+            }
+
+            budgetStatus.put("categories", categoryStatus);
+            budgetStatus.put("totalBudget", Money.fromCents(totalBudgetCents));
+            budgetStatus.put("totalActualSpend", Money.fromCents(totalActualCents));
+            budgetStatus.put("totalRemaining", Money.fromCents(totalBudgetCents - totalActualCents));
+            budgetStatus.put("budgetUtilization", Money.percent(totalActualCents, totalBudgetCents));
+            budgetStatus.put("categoriesExceeded", categoriesExceeded);
+            budgetStatus.put("onTrack", totalActualCents <= totalBudgetCents);
+
+            return budgetStatus;
+        });
+    }
 
-        double totalBudget = 0;
-        double totalActualSpend = 0;
-        int categoriesExceeded = 0;
+    // 10. SAVINGS RATE
+    public Map<String, Object> calculateSavingsRate() {
+        log.debug("Calculating savings rate");
 
-        for (String category : budgets.keySet()) {
-            Double budgetAmount = budgets.get(category);
-            Double actualSpend = categoryExpenses.getOrDefault(category, 0.0);
+        return analyticsCache.get("savings-rate", AnalyticsCache.Scope.ALL,
+                () -> buildSavingsRate(analyticsBackend.totals(null, null)));
+    }
 
-            totalBudget += budgetAmount;
-            totalActualSpend += actualSpend;
+    // 11. DASHBOARD
+    /**
+     * Builds several analytics sections in one call. All-time totals are fetched once and
+     * shared by summary, comparison and savings rate, so a full dashboard costs one totals
+     * query, one row count, one category query, one month query pair and one top-N query.
+     */
+    public Map<String, Object> getDashboard(Set<String> sections, int topLimit) {
+        log.debug("Building dashboard sections {} (top {})", sections, topLimit);
+
+        Set<String> requested = sections == null || sections.isEmpty()
+                ? DASHBOARD_SECTIONS
+                : new TreeSet<>(sections);
+        for (String section : requested) {
+            if (!DASHBOARD_SECTIONS.contains(section)) {
+                throw new IllegalArgumentException("Unknown dashboard section: " + section);
+            }
+        }
 
-            boolean exceeded = actualSpend > budgetAmount;
-            if (exceeded) categoriesExceeded++;
+        return analyticsCache.get("dashboard:" + requested + ":" + topLimit, AnalyticsCache.Scope.ALL, () -> {
+            Map<String, Object> dashboard = new HashMap<>();
+
+            if (requested.contains("summary") || requested.contains("comparison") || requested.contains("savingsRate")) {
+                TypeTotals totals = analyticsBackend.totals(null, null);
+                if (requested.contains("summary")) {
+                    dashboard.put("summary", buildSummary(totals));
+                }
+                if (requested.contains("comparison")) {
+                    dashboard.put("comparison", buildComparison(totals));
+                }
+                if (requested.contains("savingsRate")) {
+                    dashboard.put("savingsRate", buildSavingsRate(totals));
+                }
+            }
+            if (requested.contains("categoryBreakdown")) {
+                dashboard.put("categoryBreakdown", toCategoryMap(analyticsBackend.expensesByCategory(null, null)));
+            }
+            if (requested.contains("currentMonth")) {
+                dashboard.put("currentMonth", buildMonthly(YearMonth.now()));
+            }
+            if (requested.contains("topExpenses")) {
+                dashboard.put("topExpenses", analyticsBackend.topExpenses(topLimit, null, null, null));
+            }
+            return dashboard;
+        });
+    }
 
-            Map<String, Object> catStatus = new HashMap<>();
-            catStatus.put("budget", budgetAmount);
-            catStatus.put("actual", actualSpend);
-            catStatus.put("remaining", budgetAmount - actualSpend);
-            catStatus.put("percentage", budgetAmount > 0 ? (actualSpend / budgetAmount * 100) : 0);
-            catStatus.put("exceeded", exceeded);
+    // HELPER METHODS
+    // Canonical spelling, so cache scopes match the names on changed rows; unknown names pass through
+    private String canonicalCategory(String category) {
+        if (category == null || category.isBlank()) {
+            return null;
+        }
+        return categoryDictionary.find(category).map(categoryDictionary::nameOf).orElse(category);
+    }
 
-            categoryStatus.put(category, catStatus);
+    private List<Map<String, Object>> buildSeries(List<LocalDate> periods,
+                                                  Map<LocalDate, Map<String, CategoryStats>> buckets,
+                                                  Set<String> categories) {
+        List<Map<String, Object>> series = new ArrayList<>(periods.size());
+        for (LocalDate period : periods) {
+            long totalCents = 0;
+            long count = 0;
+            for (Map.Entry<String, CategoryStats> entry : buckets.getOrDefault(period, Map.of()).entrySet()) {
+                if (categories.contains(entry.getKey())) {
+                    totalCents += entry.getValue().totalCents();
+                    count += entry.getValue().count();
+                }
+            }
+            Map<String, Object> point = new HashMap<>();
+            point.put("period", period);
+            point.put("total", Money.fromCents(totalCents));
+            point.put("count", count);
+            series.add(point);
         }
+        return series;
+    }
+
+    private Map<String, Object> buildSummary(TypeTotals totals) {
+        long incomeCents = totals.getIncomeCents();
 
-        budgetStatus.put("categories", categoryStatus);
-        budgetStatus.put("totalBudget", totalBudget);
-        budgetStatus.put("totalActualSpend", totalActualSpend);
-        budgetStatus.put("totalRemaining", totalBudget - totalActualSpend);
-        budgetStatus.put("budgetUtilization", totalBudget > 0 ? (totalActualSpend / totalBudget * 100) : 0);
-        budgetStatus.put("categoriesExceeded", categoriesExceeded);
-        budgetStatus.put("onTrack", totalActualSpend <= totalBudget);
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalIncome", totals.getIncome());
+        summary.put("totalExpense", totals.getExpense());
+        summary.put("netBalance", totals.getNet());
+        summary.put("transactionCount", transactionRepository.count());
+        summary.put("savingsPercentage", Money.percent(incomeCents - totals.getExpenseCents(), incomeCents));
 
-        return budgetStatus;
+        return summary;
     }
 
-    // 10. SAVINGS RATE
-    public Map<String, Object> calculateSavingsRate() {
-        log.debug("Calculating savings rate");
+    private Map<String, Object> buildComparison(TypeTotals totals) {
+        long incomeCents = totals.getIncomeCents();
+        long expenseCents = totals.getExpenseCents();
+
+        Map<String, Object> comparison = new HashMap<>();
+        comparison.put("income", totals.getIncome());
+        comparison.put("expense", totals.getExpense());
+        comparison.put("balance", totals.getNet());
+        comparison.put("incomePercentage", Money.percent(incomeCents, incomeCents + expenseCents));
+        comparison.put("expensePercentage", Money.percent(expenseCents, incomeCents + expenseCents));
 
-        double totalIncome = calculateTotalIncome();
-        double totalExpense = calculateTotalExpense();
-        double netSavings = totalIncome - totalExpense;
+        return comparison;
+    }
 
-        double savingsRate = totalIncome > 0 ? (netSavings / totalIncome * 100) : 0;
+    private Map<String, Object> buildSavingsRate(TypeTotals totals) {
+        long incomeCents = totals.getIncomeCents();
+        double savingsRate = Money.percent(incomeCents - totals.getExpenseCents(), incomeCents);
 
         Map<String, Object> savingsData = new HashMap<>();
-        savingsData.put("totalIncome", totalIncome);
-        savingsData.put("totalExpense", totalExpense);
-        savingsData.put("netSavings", netSavings);
+        savingsData.put("totalIncome", totals.getIncome());
+        savingsData.put("totalExpense", totals.getExpense());
+        savingsData.put("netSavings", totals.getNet());
         savingsData.put("savingsRate", savingsRate);
         savingsData.put("savingsRateCategory", getSavingsRateCategory(savingsRate));
 
         return savingsData;
     }
 
-    // HELPER METHODS
-    private double calculateTotalIncome() {
-        return transactionRepository.findByType("INCOME")
-                .stream()
-                .mapToDouble(t -> t.getAmount().doubleValue())
-                .sum();
+    private Map<String, Object> buildMonthly(YearMonth yearMonth) {
+        LocalDate startOfMonth = yearMonth.atDay(1);
+        LocalDate endOfMonth = yearMonth.atEndOfMonth();
+
+        TypeTotals totals = analyticsBackend.totals(startOfMonth, endOfMonth);
+
+        Map<String, BigDecimal> categoryBreakdown = toCategoryMap(
+                analyticsBackend.expensesByCategory(startOfMonth, endOfMonth));
+
+        Map<String, Object> monthly = new HashMap<>();
+        monthly.put("yearMonth", yearMonth.toString());
+        monthly.put("income", totals.getIncome());
+        monthly.put("expense", totals.getExpense());
+        monthly.put("netSavings", totals.getNet());
+        monthly.put("categoryBreakdown", categoryBreakdown);
+        monthly.put("transactionCount", totals.getCount());
+
+        return monthly;
     }
 
-    private double calculateTotalExpense() {
-        return transactionRepository.findByType("EXPENSE")
-                .stream()
-                .mapToDouble(t -> t.getAmount().doubleValue())
-                .sum();
+    private Map<String, BigDecimal> toCategoryMap(Map<String, CategoryStats> stats) {
+        Map<String, BigDecimal> breakdown = new HashMap<>();
+        stats.forEach((category, categoryStats) -> breakdown.put(category, categoryStats.total()));
+        return breakdown;
     }
 
     private long getDaysBetween(LocalDate startDate, LocalDate endDate) {
@@ -0,0 +1,415 @@
+package com.shivaansh.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+import com.shivaansh.repository.CategoryDictionary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Pushes analytics deltas to Server-Sent Events subscribers. Committed writes are folded
+ * into one pending delta, and a scheduled flush sends whatever accumulated since the last
+ * one, so a burst (e.g. an upload committing hundreds of batches) reaches clients as one
+ * update per {@code app.analytics.stream.interval-ms}. Each event is serialized once and
+ * written to every emitter; emitters are async requests, so idle subscribers hold no thread.
+ *
+ * <p>The flush only queues events. Each subscriber has an outbox of at most
+ * {@code app.analytics.stream.max-queued-events} events, drained in order by a pool of
+ * {@code app.analytics.stream.sender-threads}, so a client that reads slowly never delays
+ * the flush or the other subscribers. A subscriber whose outbox is full is completed
+ * rather than skipped, since a missing delta would leave its totals wrong; it reconnects
+ * and starts again from a snapshot.
+ *
+ * <p>New subscribers get their {@code snapshot} on the next flush, read once for everyone
+ * who joined in that interval and exactly in step with the deltas. Reading it on the
+ * request thread would pin a pooled connection for the whole stream, since open-in-view
+ * keeps the EntityManager bound until the async request completes.
+ */
+@Service
+@Slf4j
+public class AnalyticsStreamService {
+
+    private final AnalyticsService analyticsService;
+    private final CategoryDictionary categoryDictionary;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final long heartbeatNanos;
+    private final int maxQueuedEvents;
+    private final ThreadPoolExecutor sender;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Queue<SseEmitter> joining = new ConcurrentLinkedQueue<>();
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+    private final TransactionTemplate snapshotTemplate;
+
+    private PendingDelta pending = new PendingDelta();
+    private long sequence;
+    private long lastSentNanos = System.nanoTime();
+
+    public AnalyticsStreamService(AnalyticsService analyticsService,
+                                  CategoryDictionary categoryDictionary,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.analytics.stream.max-subscribers:10000}") int maxSubscribers,
+                                  @Value("${app.analytics.stream.timeout-ms:0}") long timeoutMs,
+                                  @Value("${app.analytics.stream.heartbeat-seconds:30}") long heartbeatSeconds,
+                                  @Value("${app.analytics.stream.max-queued-events:8}") int maxQueuedEvents,
+                                  @Value("${app.analytics.stream.sender-threads:4}") int senderThreads) {
+        this.analyticsService = analyticsService;
+        this.categoryDictionary = categoryDictionary;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        this.heartbeatNanos = heartbeatSeconds * 1_000_000_000L;
+        this.maxQueuedEvents = maxQueuedEvents;
+        // A subscriber has at most one drain task queued, so the queue never fills
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(maxSubscribers, 1)),
+                new CustomizableThreadFactory("analytics-stream-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+    }
+
+    @PostConstruct
+    void registerGauge() {
+        Gauge.builder("analytics.stream.subscribers", subscribers, List::size)
+                .description("Open analytics SSE connections")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * Opens a subscription that starts with a {@code snapshot} event (summary and category
+     * breakdown) followed by {@code delta} events. Null when the subscriber limit is reached.
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() + joining.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = newEmitter(timeoutMs);
+        emitter.onCompletion(() -> remove(emitter));
+        emitter.onTimeout(() -> remove(emitter));
+        emitter.onError(e -> remove(emitter));
+        joining.add(emitter);
+        return emitter;
+    }
+
+    SseEmitter newEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    /**
+     * Folds a change into the pending delta once it has committed. From just before the
+     * commit until it is folded in, the writer holds {@link #commitLock} for reading, so a
+     * snapshot read under the write lock never sees a commit the deltas have not counted.
+     */
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commitLock.readLock().lock();
+            try {
+                accumulate(event);
+            } finally {
+                commitLock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        accumulate(event);
+                    }
+                } finally {
+                    if (locked) {
+                        commitLock.readLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.stream.interval-ms:1000}")
+    public void flush() {
+        List<SseEmitter> admitted = new ArrayList<>();
+        for (SseEmitter emitter; (emitter = joining.poll()) != null; ) {
+            admitted.add(emitter);
+        }
+
+        Tick tick = null;
+        if (!admitted.isEmpty()) {
+            // One snapshot for everyone who subscribed since the last flush. The connection is
+            // taken before the lock, so writers queued on it cannot starve the read of one.
+            try {
+                tick = snapshotTemplate.execute(status -> {
+                    commitLock.writeLock().lock();
+                    try {
+                        return takeDelta(readSnapshot());
+                    } finally {
+                        commitLock.writeLock().unlock();
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("Failed to read analytics snapshot", e);
+            }
+            if (tick == null) {
+                // Clients reconnect and get a fresh snapshot
+                admitted.forEach(SseEmitter::complete);
+                admitted.clear();
+            }
+        }
+        if (tick == null) {
+            tick = takeDelta(null);
+        }
+
+        if (tick.delta() != null && !subscribers.isEmpty()) {
+            Set<ResponseBodyEmitter.DataWithMediaType> event = toEvent("delta", tick.seq(), tick.delta().toMap(tick.seq()));
+            if (event != null) {
+                broadcast(subscribers, event);
+                log.debug("Sent analytics delta {} ({} changes) to {} subscribers",
+                        tick.seq(), tick.delta().changes, subscribers.size());
+            }
+        } else if (tick.heartbeat()) {
+            broadcast(subscribers, SseEmitter.event().comment("keepalive").build());
+        }
+
+        if (!admitted.isEmpty()) {
+            admit(admitted, tick);
+        }
+    }
+
+    /**
+     * The snapshot includes every change up to delta {@code tick.seq()}, so the new
+     * subscribers start from it and receive deltas after it, with no change counted twice.
+     */
+    private void admit(List<SseEmitter> admitted, Tick tick) {
+        Map<String, Object> snapshot = new HashMap<>(tick.snapshot());
+        snapshot.put("sequence", tick.seq());
+        Set<ResponseBodyEmitter.DataWithMediaType> event = toEvent("snapshot", tick.seq(), snapshot);
+        if (event == null) {
+            admitted.forEach(SseEmitter::complete);
+            return;
+        }
+        List<Subscriber> joined = admitted.stream().map(Subscriber::new).toList();
+        subscribers.addAll(joined);
+        broadcast(joined, event);
+        log.debug("Analytics stream admitted {} subscribers ({} open)", admitted.size(), subscribers.size());
+    }
+
+    private Map<String, Object> readSnapshot() {
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("summary", analyticsService.getFinancialSummary());
+        snapshot.put("categoryBreakdown", analyticsService.getExpenseByCategoryBreakdown());
+        return snapshot;
+    }
+
+    private synchronized Tick takeDelta(Map<String, Object> snapshot) {
+        PendingDelta delta = null;
+        if (!pending.isEmpty()) {
+            delta = pending;
+            pending = new PendingDelta();
+            sequence++;
+        }
+        // Comment frames keep idle connections open through proxies and detect dead clients
+        boolean heartbeat = delta == null && System.nanoTime() - lastSentNanos >= heartbeatNanos;
+        if (delta != null || heartbeat) {
+            lastSentNanos = System.nanoTime();
+        }
+        return new Tick(delta, sequence, heartbeat, snapshot);
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> toEvent(String name, long seq, Map<String, Object> payload) {
+        try {
+            String json = objectMapper.writeValueAsString(payload);
+            return SseEmitter.event().name(name).id(Long.toString(seq)).data(json, MediaType.APPLICATION_JSON).build();
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize analytics {} {}", name, seq, e);
+            return null;
+        }
+    }
+
+    // The event is built once; the same frames are queued for every subscriber
+    private void broadcast(List<Subscriber> targets, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        for (Subscriber subscriber : targets) {
+            subscriber.offer(event);
+        }
+    }
+
+    private void remove(SseEmitter emitter) {
+        if (!subscribers.removeIf(s -> s.emitter == emitter)) {
+            joining.remove(emitter);
+        }
+    }
+
+    /** An admitted emitter and the events queued for it, written by at most one sender at a time. */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> outbox;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.outbox = new ArrayBlockingQueue<>(Math.max(maxQueuedEvents, 1));
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (!outbox.offer(event)) {
+                log.debug("Analytics stream subscriber fell {} events behind; closing it", outbox.size());
+                close(null);
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    close(e);
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                for (Set<ResponseBodyEmitter.DataWithMediaType> event; (event = outbox.poll()) != null; ) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away
+                        close(e);
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!outbox.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void close(Exception e) {
+            remove(emitter);
+            outbox.clear();
+            if (e != null) {
+                emitter.completeWithError(e);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+
+    private synchronized void accumulate(TransactionsChangedEvent event) {
+        accumulate(event.added(), 1);
+        accumulate(event.removed(), -1);
+    }
+
+    private void accumulate(List<Transaction> transactions, int sign) {
+        for (Transaction t : transactions) {
+            // Counted like the summary's transactionCount, which includes untyped rows
+            pending.changes++;
+            pending.count += sign;
+            if (t.getType() == null) {
+                continue;
+            }
+            long cents = sign * Money.toCents(t.getAmount());
+            if (t.getType() == TransactionType.INCOME) {
+                pending.incomeCents += cents;
+                pending.incomeCount += sign;
+                continue;
+            }
+            pending.expenseCents += cents;
+            pending.expenseCount += sign;
+            String name = categoryDictionary.canonicalName(t.getCategory());
+            long[] category = pending.categories.computeIfAbsent(name != null ? name : "", k -> new long[2]);
+            category[0] += cents;
+            category[1] += sign;
+        }
+    }
+
+    private record Tick(PendingDelta delta, long seq, boolean heartbeat, Map<String, Object> snapshot) {
+    }
+
+    private static final class PendingDelta {
+        private long changes;
+        private long count;
+        private long incomeCents;
+        private long incomeCount;
+        private long expenseCents;
+        private long expenseCount;
+        private final Map<String, long[]> categories = new HashMap<>();
+
+        boolean isEmpty() {
+            return changes == 0;
+        }
+
+        Map<String, Object> toMap(long sequence) {
+            Map<String, Object> categoryDeltas = new TreeMap<>();
+            categories.forEach((name, v) -> {
+                if (v[0] != 0 || v[1] != 0) {
+                    categoryDeltas.put(name, Map.of("amount", Money.fromCents(v[0]), "count", v[1]));
+                }
+            });
+
+            Map<String, Object> map = new HashMap<>();
+            map.put("sequence", sequence);
+            map.put("changes", changes);
+            map.put("income", Money.fromCents(incomeCents));
+            map.put("expense", Money.fromCents(expenseCents));
+            map.put("netBalance", Money.fromCents(incomeCents - expenseCents));
+            map.put("incomeCount", incomeCount);
+            map.put("expenseCount", expenseCount);
+            map.put("transactionCount", count);
+            map.put("categories", categoryDeltas);
+            return map;
+        }
+    }
+}
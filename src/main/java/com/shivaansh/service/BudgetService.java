@@ -0,0 +1,133 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Budget;
+import com.shivaansh.entity.TransactionType;
+import com.shivaansh.repository.BudgetRepository;
+import com.shivaansh.repository.CategoryDictionary;
+import com.shivaansh.repository.CategoryTotal;
+import com.shivaansh.repository.DailyTotalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Monthly budgets per category, checked against the month's expenses in the
+ * {@code daily_totals} rollup (see {@link DailyTotalService}), so a status read sums at most
+ * one rollup row per day and category and never scans transactions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetService {
+
+    private final BudgetRepository budgetRepository;
+    private final DailyTotalRepository dailyTotalRepository;
+    private final CategoryDictionary categoryDictionary;
+
+    /**
+     * Sets (or replaces) the budget of each category in {@code budgets} for {@code month};
+     * categories not mentioned keep their budget.
+     */
+    @Transactional
+    public Map<String, Object> setBudgets(YearMonth month, Map<String, BigDecimal> budgets) {
+        List<Budget> rows = new ArrayList<>(budgets.size());
+        for (Map.Entry<String, BigDecimal> entry : budgets.entrySet()) {
+            Integer categoryId = categoryDictionary.idFor(entry.getKey());
+            if (categoryId == null) {
+                throw new IllegalArgumentException("Budget category must not be blank");
+            }
+            BigDecimal amount = entry.getValue();
+            if (amount == null || amount.signum() < 0) {
+                throw new IllegalArgumentException("Budget for '" + entry.getKey() + "' must be zero or more");
+            }
+            rows.add(new Budget(month.atDay(1), categoryId, Money.fromCents(Money.toCents(amount))));
+        }
+        budgetRepository.saveAll(rows);
+        log.info("Set {} budgets for {}", rows.size(), month);
+        return getBudgetStatus(month);
+    }
+
+    /**
+     * Removes the budget of {@code category} for {@code month}; false if there was none.
+     */
+    @Transactional
+    public boolean deleteBudget(YearMonth month, String category) {
+        Integer categoryId = categoryDictionary.find(category).orElse(null);
+        if (categoryId == null) {
+            return false;
+        }
+        Budget.Key key = new Budget.Key(month.atDay(1), categoryId);
+        if (!budgetRepository.existsById(key)) {
+            return false;
+        }
+        budgetRepository.deleteById(key);
+        return true;
+    }
+
+    /**
+     * Budget vs. spend for every budgeted category in {@code month}, plus totals.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getBudgetStatus(YearMonth month) {
+        LocalDate first = month.atDay(1);
+        Map<Integer, Long> spentById = new HashMap<>();
+        for (CategoryTotal total : dailyTotalRepository.sumByCategoryBetween(
+                TransactionType.EXPENSE.getCode(), first, month.atEndOfMonth())) {
+            spentById.put(total.getCategoryId(), total.getTotalCents());
+        }
+
+        Map<String, Object> categoryStatus = new TreeMap<>();
+        long totalBudgetCents = 0;
+        long totalActualCents = 0;
+        int categoriesExceeded = 0;
+
+        for (Budget budget : budgetRepository.findByMonth(first)) {
+            long budgetCents = Money.toCents(budget.getAmount());
+            Long spent = spentById.remove(budget.getCategoryId());
+            long actualCents = spent != null ? spent : 0;
+
+            totalBudgetCents += budgetCents;
+            totalActualCents += actualCents;
+
+            boolean exceeded = actualCents > budgetCents;
+            if (exceeded) categoriesExceeded++;
+
+            Map<String, Object> catStatus = new HashMap<>();
+            catStatus.put("budget", Money.fromCents(budgetCents));
+            catStatus.put("actual", Money.fromCents(actualCents));
+            catStatus.put("remaining", Money.fromCents(budgetCents - actualCents));
+            catStatus.put("percentage", Money.percent(actualCents, budgetCents));
+            catStatus.put("exceeded", exceeded);
+
+            categoryStatus.put(categoryDictionary.nameOf(budget.getCategoryId()), catStatus);
+        }
+
+        // Whatever is left was spent in categories without a budget this month
+        long unbudgetedCents = 0;
+        for (long cents : spentById.values()) {
+            unbudgetedCents += cents;
+        }
+
+        Map<String, Object> budgetStatus = new HashMap<>();
+        budgetStatus.put("month", month.toString());
+        budgetStatus.put("categories", categoryStatus);
+        budgetStatus.put("totalBudget", Money.fromCents(totalBudgetCents));
+        budgetStatus.put("totalActualSpend", Money.fromCents(totalActualCents));
+        budgetStatus.put("totalRemaining", Money.fromCents(totalBudgetCents - totalActualCents));
+        budgetStatus.put("budgetUtilization", Money.percent(totalActualCents, totalBudgetCents));
+        budgetStatus.put("categoriesExceeded", categoriesExceeded);
+        budgetStatus.put("onTrack", totalActualCents <= totalBudgetCents);
+        budgetStatus.put("unbudgetedSpend", Money.fromCents(unbudgetedCents));
+        return budgetStatus;
+    }
+}
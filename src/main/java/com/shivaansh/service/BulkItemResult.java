@@ -0,0 +1,19 @@
+package com.shivaansh.service;
+
+/**
+ * Outcome of one item of a bulk request. {@code index} is the item's position in the request.
+ */
+public record BulkItemResult(int index, Long id, Status status, String message) {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, INVALID, NOT_FOUND
+    }
+
+    static BulkItemResult ok(int index, Long id, Status status) {
+        return new BulkItemResult(index, id, status, null);
+    }
+
+    static BulkItemResult failed(int index, Long id, Status status, String message) {
+        return new BulkItemResult(index, id, status, message);
+    }
+}
@@ -0,0 +1,92 @@
+package com.shivaansh.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.function.UnaryOperator;
+
+/**
+ * Maps short byte sequences (in the platform charset, as the CSV readers use) to canonical Strings without allocating on a hit.
+ * Meant for low-cardinality columns such as category and type; not thread-safe.
+ * An optional mapping (e.g. category normalization) is applied once per distinct byte sequence.
+ */
+final class ByteStringInterner {
+
+    private final UnaryOperator<String> mapping;
+
+    private byte[][] keys = new byte[64][];
+    private String[] values = new String[64];
+    private int size;
+
+    ByteStringInterner() {
+        this(UnaryOperator.identity());
+    }
+
+    ByteStringInterner(UnaryOperator<String> mapping) {
+        this.mapping = mapping;
+    }
+
+    String intern(ByteBuffer buffer, int start, int end) {
+        int hash = hash(buffer, start, end);
+        int mask = keys.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            byte[] key = keys[slot];
+            if (key == null) {
+                return insert(slot, buffer, start, end);
+            }
+            if (matches(key, buffer, start, end)) {
+                return values[slot];
+            }
+        }
+    }
+
+    private String insert(int slot, ByteBuffer buffer, int start, int end) {
+        byte[] key = new byte[end - start];
+        buffer.get(start, key);
+        String value = mapping.apply(new String(key, Charset.defaultCharset()));
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return value;
+    }
+
+    private void grow() {
+        byte[][] oldKeys = keys;
+        String[] oldValues = values;
+        keys = new byte[oldKeys.length * 2][];
+        values = new String[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            byte[] key = oldKeys[i];
+            if (key != null) {
+                int slot = hash(ByteBuffer.wrap(key), 0, key.length) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static boolean matches(byte[] key, ByteBuffer buffer, int start, int end) {
+        if (key.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != buffer.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(ByteBuffer buffer, int start, int end) {
+        int h = 0x811c9dc5;
+        for (int i = start; i < end; i++) {
+            h = (h ^ buffer.get(i)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,13 @@
+package com.shivaansh.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount sum in cents and transaction count for one category.
+ */
+public record CategoryStats(long totalCents, long count) {
+
+    public BigDecimal total() {
+        return Money.fromCents(totalCents);
+    }
+}
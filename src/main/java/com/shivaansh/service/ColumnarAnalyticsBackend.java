@@ -0,0 +1,397 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.repository.CategoryDictionary;
+import com.shivaansh.repository.TransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process analytics store holding every transaction as parallel primitive columns:
+ * amount in cents, epoch day, a type code and the category dictionary id. Loaded
+ * from the database at startup and kept in sync by applying committed
+ * {@link TransactionsChangedEvent}s. Queries are single passes over the arrays with no
+ * per-row allocation.
+ *
+ * <p>Deleted rows are tombstoned (type {@link #DELETED}) and the columns are compacted
+ * once tombstones exceed a quarter of the live rows.
+ */
+@Component
+@ConditionalOnProperty(name = "app.analytics.backend", havingValue = "columnar")
+@Slf4j
+public class ColumnarAnalyticsBackend implements AnalyticsBackend, InitializingBean {
+
+    // INCOME and EXPENSE match the TransactionType codes stored in the type column
+    static final byte DELETED = 0;
+    static final byte INCOME = 1;
+    static final byte EXPENSE = 2;
+    static final byte OTHER = 3;
+
+    // Day of rows without a date. Like the daily_totals rollup, the aggregates skip these rows
+    // and rows of type OTHER; unranged top expenses still include them, as the database does.
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final String LOAD_SQL =
+            "SELECT id, date, category_id, CAST(ROUND(amount * 100) AS BIGINT), type FROM transactions";
+    private static final int LOAD_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionRepository transactionRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[1024];
+    private long[] cents = new long[1024];
+    private int[] days = new int[1024];
+    private byte[] types = new byte[1024];
+    private int[] categories = new int[1024];
+    private int size;
+    private int live;
+    private int maxCategoryId;
+    private final LongIntHashMap rowById = new LongIntHashMap(1024);
+
+    public ColumnarAnalyticsBackend(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    TransactionRepository transactionRepository,
+                                    CategoryDictionary categoryDictionary) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.transactionRepository = transactionRepository;
+        this.categoryDictionary = categoryDictionary;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            // Postgres only honours the fetch size inside a transaction
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(LOAD_SQL);
+                ps.setFetchSize(LOAD_FETCH_SIZE);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                Date date = rs.getDate(2);
+                int categoryId = rs.getInt(3);
+                long amountCents = rs.getLong(4);
+                short type = rs.getShort(5);
+                append(rs.getLong(1),
+                        date != null ? date.toLocalDate() : null,
+                        categoryId,
+                        amountCents,
+                        rs.wasNull() ? OTHER : (byte) type);
+            }));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} transactions into the columnar analytics store in {} ms",
+                live, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Before AnalyticsCache invalidates, so re-cached results see this change
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Transaction t : event.removed()) {
+                remove(t.getId());
+            }
+            for (Transaction t : event.added()) {
+                remove(t.getId());
+                Integer categoryId = categoryDictionary.idFor(t.getCategory());
+                append(t.getId(), t.getDate(), categoryId != null ? categoryId : 0,
+                        Money.toCents(t.getAmount()), t.getType() != null ? (byte) t.getType().getCode() : OTHER);
+            }
+            if (size - live > 1024 && size - live > live / 4) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public TypeTotals totals(LocalDate start, LocalDate end) {
+        int lo = start != null ? (int) start.toEpochDay() : NO_DATE + 1;
+        int hi = end != null ? (int) end.toEpochDay() : Integer.MAX_VALUE;
+
+        lock.readLock().lock();
+        try {
+            long income = 0;
+            long expense = 0;
+            long count = 0;
+            for (int i = 0; i < size; i++) {
+                byte type = types[i];
+                int day = days[i];
+                if ((type != INCOME && type != EXPENSE) || day < lo || day > hi) {
+                    continue;
+                }
+                count++;
+                if (type == INCOME) {
+                    income += cents[i];
+                } else if (type == EXPENSE) {
+                    expense += cents[i];
+                }
+            }
+            return new TypeTotals(income, expense, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, CategoryStats> expensesByCategory(LocalDate start, LocalDate end) {
+        int lo = start != null ? (int) start.toEpochDay() : NO_DATE + 1;
+        int hi = end != null ? (int) end.toEpochDay() : Integer.MAX_VALUE;
+
+        lock.readLock().lock();
+        try {
+            long[] sums = new long[maxCategoryId + 1];
+            long[] counts = new long[maxCategoryId + 1];
+            for (int i = 0; i < size; i++) {
+                int day = days[i];
+                if (types[i] != EXPENSE || day < lo || day > hi) {
+                    continue;
+                }
+                int category = categories[i];
+                sums[category] += cents[i];
+                counts[category]++;
+            }
+
+            Map<String, CategoryStats> breakdown = new HashMap<>();
+            for (int c = 0; c < counts.length; c++) {
+                if (counts[c] > 0) {
+                    breakdown.put(c != 0 ? categoryDictionary.nameOf(c) : "", new CategoryStats(sums[c], counts[c]));
+                }
+            }
+            return breakdown;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One pass over the rows; each day in the range is mapped to its bucket up front, so
+     * rows are accumulated into a flat (bucket, category) array without date arithmetic.
+     */
+    @Override
+    public Map<LocalDate, Map<String, CategoryStats>> expensesByBucket(TrendBucket bucket, LocalDate start,
+                                                                        LocalDate end, String category) {
+        int lo = (int) start.toEpochDay();
+        int hi = (int) end.toEpochDay();
+        int categoryId = -1;
+        if (category != null) {
+            Optional<Integer> id = categoryDictionary.find(category);
+            if (id.isEmpty()) {
+                return Map.of();
+            }
+            categoryId = id.get();
+        }
+
+        List<LocalDate> bucketStarts = new ArrayList<>();
+        int[] bucketOfDay = new int[hi - lo + 1];
+        LocalDate nextBucket = bucket.truncate(start);
+        for (int day = lo; day <= hi; day++) {
+            if (day >= nextBucket.toEpochDay()) {
+                bucketStarts.add(nextBucket);
+                nextBucket = bucket.next(nextBucket);
+            }
+            bucketOfDay[day - lo] = bucketStarts.size() - 1;
+        }
+
+        lock.readLock().lock();
+        try {
+            int stride = maxCategoryId + 1;
+            long[] sums = new long[bucketStarts.size() * stride];
+            long[] counts = new long[sums.length];
+            for (int i = 0; i < size; i++) {
+                int day = days[i];
+                if (types[i] != EXPENSE || day < lo || day > hi || (categoryId >= 0 && categories[i] != categoryId)) {
+                    continue;
+                }
+                int cell = bucketOfDay[day - lo] * stride + categories[i];
+                sums[cell] += cents[i];
+                counts[cell]++;
+            }
+
+            Map<LocalDate, Map<String, CategoryStats>> buckets = new HashMap<>();
+            for (int cell = 0; cell < counts.length; cell++) {
+                if (counts[cell] > 0) {
+                    int c = cell % stride;
+                    buckets.computeIfAbsent(bucketStarts.get(cell / stride), b -> new HashMap<>())
+                            .put(c != 0 ? categoryDictionary.nameOf(c) : "", new CategoryStats(sums[cell], counts[cell]));
+                }
+            }
+            return buckets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Selects the largest matching expenses with a bounded min-heap of row indexes
+     * (O(rows log n)), then loads just those rows as entities.
+     */
+    @Override
+    public List<Transaction> topExpenses(int limit, LocalDate start, LocalDate end, String category) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        int lo = start != null ? (int) start.toEpochDay() : NO_DATE;
+        int hi = end != null ? (int) end.toEpochDay() : Integer.MAX_VALUE;
+        int categoryId = -1;
+        if (category != null) {
+            Optional<Integer> id = categoryDictionary.find(category);
+            if (id.isEmpty()) {
+                return List.of();
+            }
+            categoryId = id.get();
+        }
+
+        long[] topIds;
+        lock.readLock().lock();
+        try {
+            int[] heap = new int[limit];
+            int heapSize = 0;
+            for (int i = 0; i < size; i++) {
+                int day = days[i];
+                if (types[i] != EXPENSE || day < lo || day > hi || (categoryId >= 0 && categories[i] != categoryId)) {
+                    continue;
+                }
+                if (heapSize < limit) {
+                    heap[heapSize] = i;
+                    siftUp(heap, heapSize++);
+                } else if (cents[i] > cents[heap[0]]) {
+                    heap[0] = i;
+                    siftDown(heap, heapSize);
+                }
+            }
+
+            // Drain smallest-first into the back of the array for descending order
+            topIds = new long[heapSize];
+            for (int n = heapSize; n > 0; n--) {
+                topIds[n - 1] = ids[heap[0]];
+                heap[0] = heap[n - 1];
+                siftDown(heap, n - 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, Transaction> byId = new HashMap<>();
+        for (Transaction t : transactionRepository.findAllById(Arrays.stream(topIds).boxed().toList())) {
+            byId.put(t.getId(), t);
+        }
+        List<Transaction> top = new ArrayList<>(topIds.length);
+        for (long id : topIds) {
+            Transaction t = byId.get(id);
+            if (t != null) {
+                top.add(t);
+            }
+        }
+        return top;
+    }
+
+    private void siftUp(int[] heap, int index) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (cents[heap[parent]] <= cents[row]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private void siftDown(int[] heap, int heapSize) {
+        int index = 0;
+        int row = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && cents[heap[child + 1]] < cents[heap[child]]) {
+                child++;
+            }
+            if (cents[heap[child]] >= cents[row]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    private void append(long id, LocalDate date, int categoryId, long amountCents, byte type) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            cents = Arrays.copyOf(cents, capacity);
+            days = Arrays.copyOf(days, capacity);
+            types = Arrays.copyOf(types, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+        }
+        ids[size] = id;
+        cents[size] = amountCents;
+        days[size] = date != null ? (int) date.toEpochDay() : NO_DATE;
+        types[size] = type;
+        categories[size] = categoryId;
+        maxCategoryId = Math.max(maxCategoryId, categoryId);
+        rowById.put(id, size);
+        size++;
+        live++;
+    }
+
+    private void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        int row = rowById.remove(id);
+        if (row >= 0) {
+            types[row] = DELETED;
+            live--;
+        }
+    }
+
+    private void compact() {
+        int target = 0;
+        rowById.clear();
+        for (int i = 0; i < size; i++) {
+            if (types[i] == DELETED) {
+                continue;
+            }
+            ids[target] = ids[i];
+            cents[target] = cents[i];
+            days[target] = days[i];
+            types[target] = types[i];
+            categories[target] = categories[i];
+            rowById.put(ids[target], target);
+            target++;
+        }
+        log.debug("Compacted columnar store from {} to {} rows", size, target);
+        size = target;
+    }
+}
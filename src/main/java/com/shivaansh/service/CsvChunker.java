@@ -0,0 +1,121 @@
+package com.shivaansh.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a CSV file into byte ranges that each start and end on a record boundary.
+ *
+ * <p>The file is scanned once with a small state machine that follows commons-csv's
+ * quoting rules (a quote only opens a field when it is the field's first character,
+ * {@code ""} inside a quoted field is an escaped quote), so a newline inside a quoted
+ * description never splits a record.
+ */
+final class CsvChunker {
+
+    private static final int SCAN_BUFFER_SIZE = 1 << 20;
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_PENDING = 3;
+
+    /** A half-open byte range {@code [start, end)} of whole records. */
+    record Chunk(long start, long end) {
+    }
+
+    private CsvChunker() {
+    }
+
+    /**
+     * @return offset just past the first record (the header line)
+     */
+    static long headerEnd(FileChannel channel) throws IOException {
+        List<Chunk> chunks = split(channel, 0, 1, 1);
+        return chunks.isEmpty() ? channel.size() : chunks.get(0).end();
+    }
+
+    /**
+     * Splits {@code [from, size)} into chunks of roughly {@code targetSize} bytes. Each chunk
+     * ends at the first record boundary at or after its target size.
+     */
+    static List<Chunk> split(FileChannel channel, long from, long targetSize) throws IOException {
+        return split(channel, from, targetSize, Integer.MAX_VALUE);
+    }
+
+    private static List<Chunk> split(FileChannel channel, long from, long targetSize, int maxChunks) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+
+        int state = FIELD_START;
+        long chunkStart = from;
+        long position = from;
+
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                boolean recordEnd = false;
+                switch (state) {
+                    case FIELD_START -> {
+                        if (b == '"') {
+                            state = QUOTED;
+                        } else if (b == '\n') {
+                            recordEnd = true;
+                        } else if (b != ',') {
+                            state = UNQUOTED;
+                        }
+                    }
+                    case UNQUOTED -> {
+                        if (b == ',') {
+                            state = FIELD_START;
+                        } else if (b == '\n') {
+                            recordEnd = true;
+                        }
+                    }
+                    case QUOTED -> {
+                        if (b == '"') {
+                            state = QUOTE_PENDING;
+                        }
+                    }
+                    default -> {
+                        if (b == '"') {
+                            state = QUOTED;
+                        } else if (b == ',') {
+                            state = FIELD_START;
+                        } else if (b == '\n') {
+                            recordEnd = true;
+                        } else {
+                            state = UNQUOTED;
+                        }
+                    }
+                }
+                if (recordEnd) {
+                    state = FIELD_START;
+                    long end = position + i + 1;
+                    if (end - chunkStart >= targetSize) {
+                        chunks.add(new Chunk(chunkStart, end));
+                        if (chunks.size() == maxChunks) {
+                            return chunks;
+                        }
+                        chunkStart = end;
+                    }
+                }
+            }
+            position += read;
+        }
+
+        if (chunkStart < size) {
+            chunks.add(new Chunk(chunkStart, size));
+        }
+        return chunks;
+    }
+}
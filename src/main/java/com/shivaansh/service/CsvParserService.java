@@ -1,20 +1,38 @@
 package com.shivaansh.service;
 
 import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+import com.shivaansh.repository.CategoryDictionary;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.StringReader;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
@@ -22,10 +40,46 @@ public class CsvParserService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
-    public List<Transaction> parseTransactions(MultipartFile file) throws Exception {
-        List<Transaction> transactions = new ArrayList<>();
+    @Value("${app.csv.parallel-threshold-bytes:67108864}")
+    private long parallelThresholdBytes;
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()));
+    @Value("${app.csv.chunk-size-bytes:8388608}")
+    private long chunkSizeBytes;
+
+    /** {@code commons} (commons-csv) or {@code mapped} (byte-level parser over a memory-mapped file). */
+    @Value("${app.csv.parser:commons}")
+    private String parser;
+
+    private final ForkJoinPool parsePool;
+    private final CategoryDictionary categoryDictionary;
+
+    public CsvParserService(@Value("${app.csv.parallelism:0}") int parallelism,
+                            CategoryDictionary categoryDictionary) {
+        this.categoryDictionary = categoryDictionary;
+        this.parsePool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Whether an upload of this size should be spooled to disk and parsed with
+     * {@link #parseTransactions(Path, IngestStats, Consumer)}: large files so they can be
+     * split across cores, and every file when the memory-mapped parser is selected.
+     * Otherwise the upload can be streamed straight through the commons-csv path.
+     */
+    public boolean shouldSpool(long sizeBytes) {
+        return isMappedParser() || sizeBytes >= parallelThresholdBytes;
+    }
+
+    private boolean isMappedParser() {
+        return "mapped".equalsIgnoreCase(parser);
+    }
+
+    /**
+     * Parses the CSV one record at a time and hands each valid transaction to {@code sink}
+     * as soon as it is read, so nothing is buffered here. Invalid rows are skipped with a
+     * warning and counted in {@code stats}.
+     */
+    public void parseTransactions(InputStream inputStream, IngestStats stats, Consumer<Transaction> sink) throws Exception {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
              CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
                      .withFirstRecordAsHeader()
                      .withIgnoreHeaderCase()
@@ -34,32 +88,198 @@ public class CsvParserService {
             log.info("CSV Headers: {}", csvParser.getHeaderMap().keySet());
 
             for (CSVRecord record : csvParser) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("CSV parsing interrupted at row " + record.getRecordNumber());
+                }
+
+                Transaction transaction;
                 try {
-                    log.debug("Processing row: {}", record);
+                    transaction = toTransaction(record);
+                } catch (Exception e) {
+                    stats.addRejected(1);
+                    log.warn("Skipping invalid row [{}]: {}", record.getRecordNumber(), e.getMessage());
+                    continue;
+                }
+
+                stats.addParsed(1);
+                sink.accept(transaction);
+            }
+        }
 
-                    Transaction transaction = new Transaction();
+        log.info("Parsed {} transactions from CSV ({} invalid rows skipped)",
+                stats.getRowsParsed(), stats.getRowsRejected());
+    }
 
-                    // Parse date
-                    String dateStr = record.get("date");
-                    log.debug("Date string: {}", dateStr);
-                    transaction.setDate(LocalDate.parse(dateStr, DATE_FORMATTER));
+    /**
+     * Parses a spooled CSV file. Files at or above {@code app.csv.parallel-threshold-bytes}
+     * are split into newline-aligned chunks of about {@code app.csv.chunk-size-bytes} that are
+     * parsed on a ForkJoin pool; results reach {@code sink} in original record order and
+     * invalid rows are reported with their record number in the whole file. At most two
+     * chunks per worker are in flight, so memory stays bounded. With
+     * {@code app.csv.parser=mapped}, chunks are decoded by {@link MappedTransactionParser}
+     * (on the calling thread for files below the threshold).
+     */
+    public void parseTransactions(Path file, IngestStats stats, Consumer<Transaction> sink) throws Exception {
+        long size = Files.size(file);
+        boolean parallel = size >= parallelThresholdBytes;
+        if (!parallel && !isMappedParser()) {
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                parseTransactions(inputStream, stats, sink);
+            }
+            return;
+        }
 
-                    // Parse other fields
-                    transaction.setDescription(record.get("description"));
-                    transaction.setCategory(record.get("category"));
-                    transaction.setAmount(new BigDecimal(record.get("amount")));
-                    transaction.setType(record.get("type"));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long headerEnd = CsvChunker.headerEnd(channel);
+            String[] headers = readHeaders(channel, headerEnd);
+            log.info("CSV Headers: {}", List.of(headers));
 
-                    transactions.add(transaction);
-                    log.debug("Successfully parsed transaction: {}", transaction);
+            List<CsvChunker.Chunk> chunks = CsvChunker.split(channel, headerEnd, chunkSizeBytes);
+            log.info("Parsing {} bytes in {} chunks with the {} parser on {} threads",
+                    size, chunks.size(), parser, parallel ? parsePool.getParallelism() : 1);
 
-                } catch (Exception e) {
-                    log.warn("Skipping invalid row [{}]: {}", record.getRecordNumber(), e.getMessage(), e);
+            ChunkParser chunkParser = isMappedParser()
+                    ? mappedChunkParser(new MappedTransactionParser(headers, categoryDictionary::canonicalName))
+                    : commonsChunkParser(CSVFormat.DEFAULT
+                            .withHeader(headers)
+                            .withIgnoreHeaderCase()
+                            .withTrim());
+
+            int window = parallel ? parsePool.getParallelism() * 2 : 1;
+            Deque<ForkJoinTask<ChunkResult>> inFlight = new ArrayDeque<>();
+            long recordsBefore = 0;
+            int next = 0;
+            try {
+                while (next < chunks.size() || !inFlight.isEmpty()) {
+                    while (next < chunks.size() && inFlight.size() < window) {
+                        CsvChunker.Chunk chunk = chunks.get(next++);
+                        ForkJoinTask<ChunkResult> task = ForkJoinTask.adapt(() -> chunkParser.parse(channel, chunk));
+                        if (parallel) {
+                            parsePool.execute(task);
+                        } else {
+                            task.quietlyInvoke();
+                        }
+                        inFlight.add(task);
+                    }
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("CSV parsing interrupted after record " + recordsBefore);
+                    }
+
+                    ChunkResult result = inFlight.poll().join();
+                    for (RowError error : result.errors) {
+                        stats.addRejected(1);
+                        log.warn("Skipping invalid row [{}]: {}", recordsBefore + error.recordNumber,
+                                error.cause.getMessage());
+                    }
+                    stats.addParsed(result.transactions.size());
+                    result.transactions.forEach(sink);
+                    recordsBefore += result.recordCount;
                 }
+            } finally {
+                inFlight.forEach(task -> task.cancel(true));
             }
         }
 
-        log.info("Successfully parsed {} transactions from CSV", transactions.size());
-        return transactions;
+        log.info("Parsed {} transactions from CSV ({} invalid rows skipped)",
+                stats.getRowsParsed(), stats.getRowsRejected());
+    }
+
+    private String[] readHeaders(FileChannel channel, long headerEnd) throws IOException {
+        String headerLine = new String(readRange(channel, 0, headerEnd));
+        try (CSVParser parser = new CSVParser(new StringReader(headerLine), CSVFormat.DEFAULT.withTrim())) {
+            List<CSVRecord> records = parser.getRecords();
+            if (records.isEmpty()) {
+                throw new IllegalArgumentException("CSV file has no header row");
+            }
+            return records.get(0).values();
+        }
+    }
+
+    private ChunkParser commonsChunkParser(CSVFormat format) {
+        return (channel, chunk) -> {
+            ChunkResult result = new ChunkResult();
+            byte[] bytes = readRange(channel, chunk.start(), chunk.end());
+
+            try (CSVParser csvParser = new CSVParser(
+                    new InputStreamReader(new ByteArrayInputStream(bytes)), format)) {
+                for (CSVRecord record : csvParser) {
+                    try {
+                        result.transactions.add(toTransaction(record));
+                    } catch (Exception e) {
+                        result.errors.add(new RowError(record.getRecordNumber(), e));
+                    }
+                }
+                result.recordCount = csvParser.getRecordNumber();
+            }
+            return result;
+        };
+    }
+
+    private ChunkParser mappedChunkParser(MappedTransactionParser mappedParser) {
+        return (channel, chunk) -> {
+            ChunkResult result = new ChunkResult();
+            mappedParser.parse(channel, chunk.start(), chunk.end(), new MappedTransactionParser.ChunkSink() {
+                @Override
+                public void accept(Transaction transaction) {
+                    result.transactions.add(transaction);
+                }
+
+                @Override
+                public void reject(long recordNumber, Exception cause) {
+                    result.errors.add(new RowError(recordNumber, cause));
+                }
+
+                @Override
+                public void records(long count) {
+                    result.recordCount = count;
+                }
+            });
+            return result;
+        };
+    }
+
+    private static byte[] readRange(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.array();
+    }
+
+    private Transaction toTransaction(CSVRecord record) {
+        Transaction transaction = new Transaction();
+
+        // Parse date
+        String dateStr = record.get("date");
+        transaction.setDate(LocalDate.parse(dateStr, DATE_FORMATTER));
+
+        // Parse other fields
+        transaction.setDescription(record.get("description"));
+        transaction.setCategory(categoryDictionary.canonicalName(record.get("category")));
+        transaction.setAmount(new BigDecimal(record.get("amount")));
+        transaction.setType(TransactionType.parse(record.get("type")));
+
+        return transaction;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        parsePool.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface ChunkParser {
+        ChunkResult parse(FileChannel channel, CsvChunker.Chunk chunk) throws IOException;
+    }
+
+    private static final class ChunkResult {
+        private final List<Transaction> transactions = new ArrayList<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private long recordCount;
+    }
+
+    private record RowError(long recordNumber, Exception cause) {
     }
 }
@@ -0,0 +1,129 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.repository.CategoryDictionary;
+import com.shivaansh.repository.DailyTotalRepository;
+import com.shivaansh.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the {@code daily_totals} rollup in step with the transactions table. Deltas are
+ * applied synchronously inside the writing transaction, so the rollup commits or rolls
+ * back together with the rows it summarizes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyTotalService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO daily_totals (date, type, category_id, total_amount, tx_count) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (date, type, category_id) DO UPDATE SET " +
+            "total_amount = daily_totals.total_amount + EXCLUDED.total_amount, " +
+            "tx_count = daily_totals.tx_count + EXCLUDED.tx_count";
+
+    private static final String DELETE_EMPTY_SQL =
+            "DELETE FROM daily_totals WHERE date = ? AND type = ? AND category_id = ? AND tx_count = 0";
+
+    private final DailyTotalRepository dailyTotalRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.rollup.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Map<Key, Delta> deltas = new HashMap<>();
+        accumulate(deltas, event.added(), 1);
+        accumulate(deltas, event.removed(), -1);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Fixed key order keeps concurrent writers from deadlocking on rollup rows
+        List<Key> keys = new ArrayList<>(deltas.keySet());
+        keys.sort(KEY_ORDER);
+
+        List<Object[]> upserts = new ArrayList<>(keys.size());
+        List<Object[]> shrunk = new ArrayList<>();
+        for (Key key : keys) {
+            Delta delta = deltas.get(key);
+            if (delta.count == 0 && delta.cents == 0) {
+                continue;
+            }
+            upserts.add(new Object[]{key.date, key.type, key.categoryId, Money.fromCents(delta.cents), delta.count});
+            if (delta.count < 0) {
+                shrunk.add(new Object[]{key.date, key.type, key.categoryId});
+            }
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+        if (!shrunk.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_EMPTY_SQL, shrunk);
+        }
+        log.debug("Applied {} daily total deltas", upserts.size());
+    }
+
+    /**
+     * Recomputes the whole rollup from the transactions table. Concurrent writers wait on
+     * the table lock, so no delta is lost or applied twice.
+     */
+    public int rebuild() {
+        log.info("Rebuilding daily_totals rollup");
+        Integer rows = transactionTemplate.execute(status -> {
+            dailyTotalRepository.lockForRebuild();
+            dailyTotalRepository.deleteAllInBatch();
+            return dailyTotalRepository.insertFromTransactions();
+        });
+        log.info("Rebuilt daily_totals with {} rows", rows);
+        return rows != null ? rows : 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (rebuildOnStartup || (dailyTotalRepository.count() == 0 && transactionRepository.count() > 0)) {
+            rebuild();
+        }
+    }
+
+    private void accumulate(Map<Key, Delta> deltas, List<Transaction> transactions, int sign) {
+        for (Transaction t : transactions) {
+            if (t.getDate() == null || t.getType() == null) {
+                continue;
+            }
+            Integer categoryId = categoryDictionary.idFor(t.getCategory());
+            Key key = new Key(t.getDate(), t.getType().getCode(), categoryId != null ? categoryId : 0);
+            Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+            delta.cents += sign * Money.toCents(t.getAmount());
+            delta.count += sign;
+        }
+    }
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::date)
+            .thenComparingInt(Key::type)
+            .thenComparingInt(Key::categoryId);
+
+    private record Key(LocalDate date, short type, int categoryId) {
+    }
+
+    private static final class Delta {
+        private long cents;
+        private long count;
+    }
+}
@@ -0,0 +1,107 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+import com.shivaansh.repository.BucketTotal;
+import com.shivaansh.repository.CategoryDictionary;
+import com.shivaansh.repository.CategoryTotal;
+import com.shivaansh.repository.DailyTotalRepository;
+import com.shivaansh.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers analytics from the daily_totals rollup.
+ */
+@Component
+@ConditionalOnProperty(name = "app.analytics.backend", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseAnalyticsBackend implements AnalyticsBackend {
+
+    // Open range ends, kept within what a Postgres date column can hold
+    private static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private final DailyTotalRepository dailyTotalRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    public TypeTotals totals(LocalDate start, LocalDate end) {
+        if (start == null && end == null) {
+            return TypeTotals.of(dailyTotalRepository.sumByType());
+        }
+        return TypeTotals.of(dailyTotalRepository.sumByTypeBetween(
+                start != null ? start : EARLIEST, end != null ? end : LATEST));
+    }
+
+    @Override
+    public Map<String, CategoryStats> expensesByCategory(LocalDate start, LocalDate end) {
+        List<CategoryTotal> rows = start == null && end == null
+                ? dailyTotalRepository.sumByCategory(TransactionType.EXPENSE.getCode())
+                : dailyTotalRepository.sumByCategoryBetween(TransactionType.EXPENSE.getCode(),
+                        start != null ? start : EARLIEST, end != null ? end : LATEST);
+
+        Map<String, CategoryStats> breakdown = new HashMap<>();
+        for (CategoryTotal row : rows) {
+            String category = row.getCategoryId() != 0 ? categoryDictionary.nameOf(row.getCategoryId()) : "";
+            breakdown.put(category, new CategoryStats(row.getTotalCents(), row.getCount()));
+        }
+        return breakdown;
+    }
+
+    @Override
+    public Map<LocalDate, Map<String, CategoryStats>> expensesByBucket(TrendBucket bucket, LocalDate start,
+                                                                        LocalDate end, String category) {
+        int categoryId = -1;
+        if (category != null) {
+            Optional<Integer> id = categoryDictionary.find(category);
+            if (id.isEmpty()) {
+                return Map.of();
+            }
+            categoryId = id.get();
+        }
+
+        Map<LocalDate, Map<String, CategoryStats>> buckets = new HashMap<>();
+        for (BucketTotal row : dailyTotalRepository.sumByBucketAndCategory(
+                bucket.sqlUnit(), TransactionType.EXPENSE.getCode(), start, end, categoryId)) {
+            String name = row.getCategoryId() != 0 ? categoryDictionary.nameOf(row.getCategoryId()) : "";
+            buckets.computeIfAbsent(row.getBucket(), b -> new HashMap<>())
+                    .put(name, new CategoryStats(row.getTotalCents(), row.getCount()));
+        }
+        return buckets;
+    }
+
+    // One query per filter combination, so each gets a plan for its own index
+    @Override
+    public List<Transaction> topExpenses(int limit, LocalDate start, LocalDate end, String category) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        Limit top = Limit.of(limit);
+        boolean ranged = start != null || end != null;
+        LocalDate from = start != null ? start : EARLIEST;
+        LocalDate to = end != null ? end : LATEST;
+        if (category == null) {
+            return ranged
+                    ? transactionRepository.findByTypeAndDateBetweenOrderByAmountDesc(TransactionType.EXPENSE, from, to, top)
+                    : transactionRepository.findByTypeOrderByAmountDesc(TransactionType.EXPENSE, top);
+        }
+        // Binding an unknown category would register it in the categories table
+        if (categoryDictionary.find(category).isEmpty()) {
+            return List.of();
+        }
+        return ranged
+                ? transactionRepository.findByTypeAndCategoryAndDateBetweenOrderByAmountDesc(
+                        TransactionType.EXPENSE, category, from, to, top)
+                : transactionRepository.findByTypeAndCategoryOrderByAmountDesc(TransactionType.EXPENSE, category, top);
+    }
+}
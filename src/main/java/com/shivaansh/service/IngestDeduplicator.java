@@ -0,0 +1,169 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.repository.CategoryDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dedup stage for one upload. Stamps each row with its {@link TransactionFingerprint} and
+ * drops rows whose fingerprint is already stored.
+ *
+ * <p>Stored fingerprints are loaded into a Bloom filter one month at a time, the first time
+ * the upload has a row in that month. A miss proves the row is new without touching the
+ * database; only hits (true duplicates plus roughly {@code falsePositiveRate} of new rows)
+ * are confirmed with one {@code IN} query per batch. Must see batches in file order, from
+ * a single thread.
+ *
+ * <p>The filters are a snapshot, so a concurrent upload of the same rows passes them too.
+ * {@link #claim} closes that gap inside the write transaction: every upload takes the same
+ * advisory lock there and re-checks the batch against committed rows, so of two uploads
+ * racing for a row exactly one stores it and the other counts it as a duplicate.
+ *
+ * <p>Occurrence numbers only need counting for rows that repeat within the upload. First
+ * occurrences are remembered in a Bloom filter (a few bytes per row, grown as it fills);
+ * exact counts are kept only for rows that hit it. A false positive numbers a first
+ * occurrence as a repeat, for about one row in a million and the same way on every upload
+ * of the file, so re-uploads still match.
+ */
+@Slf4j
+class IngestDeduplicator {
+
+    private static final String LOAD_SQL =
+            "SELECT fingerprint FROM transactions WHERE date >= ? AND date < ? AND fingerprint IS NOT NULL";
+    // Transaction-scoped advisory lock serialising the final check and write of every upload
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(?)";
+    private static final long WRITE_LOCK_KEY = 0x696e676573744c4bL;
+    private static final int SEEN_INITIAL_CAPACITY = 1 << 16;
+    private static final double SEEN_FALSE_POSITIVE_RATE = 1e-6;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryDictionary categoryDictionary;
+    private final double falsePositiveRate;
+    private final Map<YearMonth, LongBloomFilter> filters = new HashMap<>();
+    // Occurrence-0 keys of this upload; each filter added when the last one is full is twice as big
+    private final List<LongBloomFilter> seen = new ArrayList<>();
+    private long seenCapacity;
+    private long seenInLast;
+    // Last occurrence number per row content that repeated (keyed by the occurrence-0 fingerprint)
+    private final LongIntHashMap repeats = new LongIntHashMap(64);
+
+    IngestDeduplicator(JdbcTemplate jdbcTemplate, CategoryDictionary categoryDictionary, double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryDictionary = categoryDictionary;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Returns the rows of {@code batch} that are not stored yet, in order.
+     */
+    List<Transaction> filter(List<Transaction> batch) {
+        List<Transaction> candidates = new ArrayList<>();
+        for (Transaction transaction : batch) {
+            transaction.setFingerprint(fingerprint(transaction));
+            if (filterFor(transaction.getDate()).mightContain(transaction.getFingerprint())) {
+                candidates.add(transaction);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return batch;
+        }
+
+        return withoutStored(batch, findStored(candidates));
+    }
+
+    /**
+     * Returns the rows of a {@link #filter}ed batch that are still not stored, holding the
+     * upload write lock until the caller's transaction ends. Must be called inside the
+     * transaction that writes the returned rows.
+     */
+    List<Transaction> claim(List<Transaction> fresh) {
+        jdbcTemplate.query(LOCK_SQL, rs -> { }, WRITE_LOCK_KEY);
+        return withoutStored(fresh, findStored(fresh));
+    }
+
+    private static List<Transaction> withoutStored(List<Transaction> batch, Set<Long> stored) {
+        if (stored.isEmpty()) {
+            return batch;
+        }
+        List<Transaction> fresh = new ArrayList<>(batch.size());
+        for (Transaction transaction : batch) {
+            if (!stored.contains(transaction.getFingerprint())) {
+                fresh.add(transaction);
+            }
+        }
+        return fresh;
+    }
+
+    private long fingerprint(Transaction transaction) {
+        String content = TransactionFingerprint.content(transaction, categoryDictionary.idFor(transaction.getCategory()));
+        long first = TransactionFingerprint.of(content, 0);
+        long key = first & Long.MAX_VALUE | 1L;
+        if (!seenBefore(key)) {
+            remember(key);
+            return first;
+        }
+        int occurrence = Math.max(repeats.get(key), 0) + 1;
+        repeats.put(key, occurrence);
+        return TransactionFingerprint.of(content, occurrence);
+    }
+
+    private boolean seenBefore(long key) {
+        for (LongBloomFilter filter : seen) {
+            if (filter.mightContain(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remember(long key) {
+        if (seen.isEmpty() || seenInLast == seenCapacity) {
+            seenCapacity = seen.isEmpty() ? SEEN_INITIAL_CAPACITY : seenCapacity * 2;
+            seen.add(new LongBloomFilter(seenCapacity, SEEN_FALSE_POSITIVE_RATE));
+            seenInLast = 0;
+        }
+        seen.get(seen.size() - 1).add(key);
+        seenInLast++;
+    }
+
+    private LongBloomFilter filterFor(LocalDate date) {
+        return filters.computeIfAbsent(YearMonth.from(date), this::load);
+    }
+
+    private LongBloomFilter load(YearMonth month) {
+        long[][] buffer = {new long[1024]};
+        int[] count = {0};
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            if (count[0] == buffer[0].length) {
+                buffer[0] = Arrays.copyOf(buffer[0], count[0] * 2);
+            }
+            buffer[0][count[0]++] = rs.getLong(1);
+        }, month.atDay(1), month.plusMonths(1).atDay(1));
+
+        LongBloomFilter filter = new LongBloomFilter(count[0], falsePositiveRate);
+        for (int i = 0; i < count[0]; i++) {
+            filter.add(buffer[0][i]);
+        }
+        log.debug("Loaded {} stored fingerprints for {}", count[0], month);
+        return filter;
+    }
+
+    private Set<Long> findStored(List<Transaction> candidates) {
+        String placeholders = String.join(",", Collections.nCopies(candidates.size(), "?"));
+        Object[] args = candidates.stream().map(Transaction::getFingerprint).toArray();
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT fingerprint FROM transactions WHERE fingerprint IN (" + placeholders + ")", Long.class, args));
+    }
+}
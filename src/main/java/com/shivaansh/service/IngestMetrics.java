@@ -0,0 +1,62 @@
+package com.shivaansh.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for CSV ingests, recorded once per upload (sync or async) when its
+ * pipeline finishes. Tagged by write {@code mode} and {@code outcome} (completed or failed,
+ * which includes cancelled jobs); rows persisted before a failure are still counted.
+ */
+@Component
+@RequiredArgsConstructor
+public class IngestMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    void record(IngestStats stats, IngestMode mode, boolean completed) {
+        Tags tags = Tags.of(
+                "mode", mode.name().toLowerCase(Locale.ROOT),
+                "outcome", completed ? "completed" : "failed");
+
+        count("ingest.rows.parsed", tags, stats.getRowsParsed());
+        count("ingest.rows.rejected", tags, stats.getRowsRejected());
+        count("ingest.rows.persisted", tags, stats.getRowsPersisted());
+        count("ingest.rows.duplicate", tags, stats.getDuplicatesSkipped());
+        Counter.builder("ingest.bytes")
+                .baseUnit(BaseUnits.BYTES)
+                .tags(tags)
+                .register(meterRegistry)
+                .increment(stats.getBytes());
+
+        Timer.builder("ingest.duration")
+                .description("Wall time of one upload, parse to last commit")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getDurationMs(), TimeUnit.MILLISECONDS);
+        DistributionSummary.builder("ingest.throughput")
+                .description("Rows persisted per second, per upload")
+                .baseUnit("rows/s")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRowsPerSecond());
+    }
+
+    private void count(String name, Tags tags, long rows) {
+        Counter.builder(name)
+                .baseUnit(BaseUnits.ROWS)
+                .tags(tags)
+                .register(meterRegistry)
+                .increment(rows);
+    }
+}
@@ -0,0 +1,19 @@
+package com.shivaansh.service;
+
+/**
+ * How the write stage stores a batch: {@code JPA} persists entities through Hibernate's
+ * JDBC batching, {@code COPY} streams the batch with PostgreSQL's {@code COPY FROM STDIN}.
+ */
+public enum IngestMode {
+    JPA,
+    COPY;
+
+    public static IngestMode parse(String value) {
+        for (IngestMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Ingest mode must be jpa or copy");
+    }
+}
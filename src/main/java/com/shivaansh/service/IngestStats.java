@@ -0,0 +1,94 @@
+package com.shivaansh.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Row counts and timing for a single CSV ingest. Counters are updated by the parse and
+ * write stages while the ingest runs and may be read concurrently for progress reporting.
+ */
+public class IngestStats {
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong rowsParsed = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final AtomicLong rowsPersisted = new AtomicLong();
+    private final AtomicLong duplicatesSkipped = new AtomicLong();
+    private volatile long bytes;
+    private volatile long elapsedNanos = -1;
+
+    void addParsed(long rows) {
+        rowsParsed.addAndGet(rows);
+    }
+
+    void addRejected(long rows) {
+        rowsRejected.addAndGet(rows);
+    }
+
+    void addPersisted(long rows) {
+        rowsPersisted.addAndGet(rows);
+    }
+
+    void addDuplicates(long rows) {
+        duplicatesSkipped.addAndGet(rows);
+    }
+
+    void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    // Keeps the first end time if both the pipeline and a job runner report completion
+    void finish() {
+        if (elapsedNanos < 0) {
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+
+    public long getRowsPersisted() {
+        return rowsPersisted.get();
+    }
+
+    public long getDuplicatesSkipped() {
+        return duplicatesSkipped.get();
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getDurationMs() {
+        return elapsedNanos() / 1_000_000;
+    }
+
+    public double getRowsPerSecond() {
+        long elapsed = elapsedNanos();
+        return elapsed > 0 ? getRowsPersisted() * 1_000_000_000.0 / elapsed : 0;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("transactionsProcessed", getRowsPersisted());
+        stats.put("rowsParsed", getRowsParsed());
+        stats.put("invalidRows", getRowsRejected());
+        stats.put("duplicatesSkipped", getDuplicatesSkipped());
+        stats.put("bytes", getBytes());
+        stats.put("durationMs", getDurationMs());
+        stats.put("rowsPerSecond", Math.round(getRowsPerSecond()));
+        return stats;
+    }
+
+    // Running ingests report time elapsed so far
+    private long elapsedNanos() {
+        long elapsed = elapsedNanos;
+        return elapsed >= 0 ? elapsed : System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,44 @@
+package com.shivaansh.service;
+
+/**
+ * Bloom filter over {@code long} keys that are already well mixed (such as fingerprints),
+ * using double hashing over the two halves of the key. Not thread-safe.
+ */
+final class LongBloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Sized for {@code expectedKeys} at the given false-positive rate.
+     */
+    LongBloomFilter(long expectedKeys, double falsePositiveRate) {
+        long n = Math.max(64, expectedKeys);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bits = new long[(int) ((m + 63) >>> 6)];
+        bitCount = (long) bits.length << 6;
+        hashCount = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+
+    void add(long key) {
+        int h1 = (int) key;
+        int h2 = (int) (key >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(long key) {
+        int h1 = (int) key;
+        int h2 = (int) (key >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,316 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Byte-level parser for the fixed transaction CSV schema, working directly on a
+ * memory-mapped region of the spooled upload.
+ *
+ * <p>Dates in {@code yyyy-MM-dd} form and plain decimal amounts are decoded straight from
+ * the bytes, category and type go through a {@link ByteStringInterner}, and only the
+ * description is materialized as a new String. Anything outside the fast paths (exponent
+ * amounts, odd date shapes) falls back to the same JDK parsing the commons-csv path uses,
+ * so both parsers accept and reject the same rows with the same messages. Quoting,
+ * trimming and empty-line handling follow {@code CSVFormat.DEFAULT.withTrim()}.
+ */
+final class MappedTransactionParser {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String[] COLUMNS = {"date", "description", "category", "amount", "type"};
+    private static final int DATE = 0, DESCRIPTION = 1, CATEGORY = 2, AMOUNT = 3, TYPE = 4;
+
+    // As commons-csv lists them in "Mapping not found" errors (case-insensitive header map order)
+    private final Collection<String> headers;
+    private final UnaryOperator<String> categoryNormalizer;
+    private final int[] columnIndex = new int[COLUMNS.length];
+    private final int fieldsNeeded;
+
+    MappedTransactionParser(String[] headers, UnaryOperator<String> categoryNormalizer) {
+        Map<String, Integer> headerMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < headers.length; i++) {
+            headerMap.putIfAbsent(headers[i], i);
+        }
+        this.headers = headerMap.keySet();
+        this.categoryNormalizer = categoryNormalizer;
+        Arrays.fill(columnIndex, -1);
+        int max = -1;
+        for (int c = 0; c < COLUMNS.length; c++) {
+            for (int i = 0; i < headers.length; i++) {
+                if (headers[i].toLowerCase(Locale.ROOT).equals(COLUMNS[c])) {
+                    columnIndex[c] = i;
+                    max = Math.max(max, i);
+                    break;
+                }
+            }
+        }
+        this.fieldsNeeded = max + 1;
+    }
+
+    /**
+     * Parses the records in {@code [start, end)} of the file, which must begin on a record
+     * boundary. Record numbers in {@code result} are relative to the chunk.
+     */
+    void parse(FileChannel channel, long start, long end, ChunkSink result) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        new Cursor(buffer, result).run();
+    }
+
+    interface ChunkSink {
+        void accept(Transaction transaction);
+
+        void reject(long recordNumber, Exception cause);
+
+        void records(long count);
+    }
+
+    private final class Cursor {
+        private final ByteBuffer buf;
+        private final int limit;
+        private final ChunkSink sink;
+        private final ByteStringInterner categories = new ByteStringInterner(categoryNormalizer);
+        private final ByteStringInterner types = new ByteStringInterner();
+
+        // Value bounds of the current record's fields, after trimming
+        private final int[] valueStart = new int[fieldsNeeded];
+        private final int[] valueEnd = new int[fieldsNeeded];
+        private final boolean[] escaped = new boolean[fieldsNeeded];
+        private int fieldCount;
+        private int pos;
+
+        Cursor(ByteBuffer buf, ChunkSink sink) {
+            this.buf = buf;
+            this.limit = buf.limit();
+            this.sink = sink;
+        }
+
+        void run() throws IOException {
+            long recordNumber = 0;
+            while (pos < limit) {
+                if (skipEmptyLine()) {
+                    continue;
+                }
+                recordNumber++;
+                readRecord();
+                try {
+                    sink.accept(toTransaction());
+                } catch (Exception e) {
+                    sink.reject(recordNumber, e);
+                }
+            }
+            sink.records(recordNumber);
+        }
+
+        private boolean skipEmptyLine() {
+            byte b = buf.get(pos);
+            if (b == '\n') {
+                pos++;
+                return true;
+            }
+            if (b == '\r') {
+                pos += pos + 1 < limit && buf.get(pos + 1) == '\n' ? 2 : 1;
+                return true;
+            }
+            return false;
+        }
+
+        private void readRecord() throws IOException {
+            fieldCount = 0;
+            while (true) {
+                if (pos < limit && buf.get(pos) == '"') {
+                    readQuoted();
+                } else {
+                    readUnquoted();
+                }
+                fieldCount++;
+
+                if (pos >= limit) {
+                    return;
+                }
+                byte b = buf.get(pos++);
+                if (b == ',') {
+                    continue;
+                }
+                if (b == '\r' && pos < limit && buf.get(pos) == '\n') {
+                    pos++;
+                }
+                return;
+            }
+        }
+
+        private void readUnquoted() {
+            int s = pos;
+            while (pos < limit) {
+                byte b = buf.get(pos);
+                if (b == ',' || b == '\n' || b == '\r') {
+                    break;
+                }
+                pos++;
+            }
+            setField(s, pos, false);
+        }
+
+        private void readQuoted() throws IOException {
+            int s = ++pos;
+            boolean hasEscapes = false;
+            while (true) {
+                if (pos >= limit) {
+                    throw new IOException("EOF reached before encapsulated token finished");
+                }
+                if (buf.get(pos) == '"') {
+                    if (pos + 1 < limit && buf.get(pos + 1) == '"') {
+                        hasEscapes = true;
+                        pos += 2;
+                        continue;
+                    }
+                    break;
+                }
+                pos++;
+            }
+            int e = pos++;
+            while (pos < limit) {
+                byte b = buf.get(pos);
+                if (b == ',' || b == '\n' || b == '\r') {
+                    break;
+                }
+                if (b != ' ' && b != '\t' && b != '\f') {
+                    throw new IOException("Invalid char between encapsulated token and delimiter at byte " + pos);
+                }
+                pos++;
+            }
+            setField(s, e, hasEscapes);
+        }
+
+        private void setField(int s, int e, boolean hasEscapes) {
+            if (fieldCount >= fieldsNeeded) {
+                return;
+            }
+            while (s < e && (buf.get(s) & 0xff) <= ' ') {
+                s++;
+            }
+            while (e > s && (buf.get(e - 1) & 0xff) <= ' ') {
+                e--;
+            }
+            valueStart[fieldCount] = s;
+            valueEnd[fieldCount] = e;
+            escaped[fieldCount] = hasEscapes;
+        }
+
+        private Transaction toTransaction() {
+            Transaction transaction = new Transaction();
+            transaction.setDate(parseDate(field(DATE)));
+            transaction.setDescription(string(field(DESCRIPTION)));
+            int category = field(CATEGORY);
+            transaction.setCategory(escaped[category]
+                    ? categoryNormalizer.apply(string(category))
+                    : categories.intern(buf, valueStart[category], valueEnd[category]));
+            transaction.setAmount(parseAmount(field(AMOUNT)));
+            int type = field(TYPE);
+            transaction.setType(TransactionType.parse(
+                    escaped[type] ? string(type) : types.intern(buf, valueStart[type], valueEnd[type])));
+            return transaction;
+        }
+
+        private int field(int column) {
+            int index = columnIndex[column];
+            if (index < 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Mapping for %s not found, expected one of %s", COLUMNS[column], headers));
+            }
+            if (index >= fieldCount) {
+                throw new IllegalArgumentException(String.format(
+                        "Index for header '%s' is %d but CSVRecord only has %d values!", COLUMNS[column], index, fieldCount));
+            }
+            return index;
+        }
+
+        private String string(int field) {
+            int s = valueStart[field];
+            byte[] bytes = new byte[valueEnd[field] - s];
+            buf.get(s, bytes);
+            String value = new String(bytes, Charset.defaultCharset());
+            return escaped[field] ? value.replace("\"\"", "\"") : value;
+        }
+
+        private LocalDate parseDate(int field) {
+            int s = valueStart[field];
+            if (!escaped[field] && valueEnd[field] - s == 10
+                    && buf.get(s + 4) == '-' && buf.get(s + 7) == '-') {
+                int year = digits(s, 4);
+                int month = digits(s + 5, 2);
+                int day = digits(s + 8, 2);
+                if (year > 0 && month >= 1 && month <= 12 && day >= 1 && day <= 31) {
+                    // Same day clamping as DateTimeFormatter's SMART resolver (2024-02-30 -> 2024-02-29)
+                    return LocalDate.of(year, month, Math.min(day, YearMonth.of(year, month).lengthOfMonth()));
+                }
+            }
+            return LocalDate.parse(string(field), DATE_FORMATTER);
+        }
+
+        private int digits(int s, int count) {
+            int value = 0;
+            for (int i = s; i < s + count; i++) {
+                int d = buf.get(i) - '0';
+                if (d < 0 || d > 9) {
+                    return -1;
+                }
+                value = value * 10 + d;
+            }
+            return value;
+        }
+
+        private BigDecimal parseAmount(int field) {
+            int s = valueStart[field];
+            int e = valueEnd[field];
+            if (!escaped[field] && s < e) {
+                int i = s;
+                boolean negative = false;
+                byte first = buf.get(i);
+                if (first == '-' || first == '+') {
+                    negative = first == '-';
+                    i++;
+                }
+                long unscaled = 0;
+                int digitCount = 0;
+                int scale = 0;
+                boolean seenPoint = false;
+                boolean plain = true;
+                for (; i < e; i++) {
+                    byte b = buf.get(i);
+                    if (b >= '0' && b <= '9') {
+                        unscaled = unscaled * 10 + (b - '0');
+                        digitCount++;
+                        if (seenPoint) {
+                            scale++;
+                        }
+                    } else if (b == '.' && !seenPoint) {
+                        seenPoint = true;
+                    } else {
+                        plain = false;
+                        break;
+                    }
+                }
+                if (plain && digitCount > 0 && digitCount <= 18) {
+                    return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+                }
+            }
+            return new BigDecimal(string(field));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.shivaansh.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money helpers. Amounts are aggregated as {@code long} cents and only turned back
+ * into exact two-decimal {@link BigDecimal}s for responses. Rounding to cents matches the
+ * {@code numeric(38,2)} amount column, so in-memory and stored values agree.
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0;
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * {@code cents / divisor} as an exact decimal rounded half-even to cents, or zero when the divisor is zero.
+     */
+    public static BigDecimal divide(long cents, long divisor) {
+        return divisor != 0
+                ? fromCents(cents).divide(BigDecimal.valueOf(divisor), 2, RoundingMode.HALF_EVEN)
+                : fromCents(0);
+    }
+
+    /**
+     * {@code part} as a percentage of {@code whole}, or 0 when {@code whole} is not positive.
+     */
+    public static double percent(long part, long whole) {
+        return whole > 0 ? part * 100.0 / whole : 0;
+    }
+}
@@ -0,0 +1,115 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opaque continuation token for keyset paging over transactions. It carries the sort column, the
+ * direction and the (sort value, id) of the last row returned, so the next page can seek straight
+ * to it instead of skipping OFFSET rows.
+ * Only non-null columns can be seeked on; {@code id} is always the tie-breaker.
+ */
+final class TransactionCursor {
+
+    static final Set<String> SORTABLE = Set.of("date", "amount", "id");
+
+    private final String sortBy;
+    private final Sort.Direction direction;
+    private final String lastValue;
+    private final long lastId;
+
+    private TransactionCursor(String sortBy, Sort.Direction direction, String lastValue, long lastId) {
+        this.sortBy = sortBy;
+        this.direction = direction;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    static TransactionCursor first(String sortBy, Sort.Direction direction) {
+        if (!SORTABLE.contains(sortBy)) {
+            throw new IllegalArgumentException("Cursor paging can only sort by " + SORTABLE);
+        }
+        return new TransactionCursor(sortBy, direction, null, 0);
+    }
+
+    static TransactionCursor after(TransactionCursor current, Transaction last) {
+        String value = switch (current.sortBy) {
+            case "date" -> last.getDate().toString();
+            case "amount" -> last.getAmount().toPlainString();
+            default -> null;
+        };
+        return new TransactionCursor(current.sortBy, current.direction, value, last.getId());
+    }
+
+    static TransactionCursor decode(String token) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        if (parts.length != 4 || !SORTABLE.contains(parts[0])
+                || (parts[2].isEmpty() && !"id".equals(parts[0]))) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        try {
+            TransactionCursor cursor = new TransactionCursor(parts[0], Sort.Direction.fromString(parts[1]),
+                    parts[2].isEmpty() ? null : parts[2], Long.parseLong(parts[3]));
+            cursor.sortValue();
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+
+    String encode() {
+        String raw = sortBy + "|" + direction + "|" + (lastValue == null ? "" : lastValue) + "|" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    String sortBy() {
+        return sortBy;
+    }
+
+    Sort.Direction direction() {
+        return direction;
+    }
+
+    Sort sort() {
+        return "id".equals(sortBy)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortBy).and(Sort.by(direction, "id"));
+    }
+
+    ScrollPosition position() {
+        if (lastId == 0 && lastValue == null) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (!"id".equals(sortBy)) {
+            keys.put(sortBy, sortValue());
+        }
+        keys.put("id", lastId);
+        return ScrollPosition.forward(keys);
+    }
+
+    private Object sortValue() {
+        if (lastValue == null) {
+            return null;
+        }
+        return switch (sortBy) {
+            case "date" -> LocalDate.parse(lastValue);
+            case "amount" -> new BigDecimal(lastValue);
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package com.shivaansh.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+import com.shivaansh.repository.CategoryDictionary;
+import com.shivaansh.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams transactions out as NDJSON or CSV. Rows come from a database cursor (JDBC fetch
+ * size) and each entity is detached once written, so memory stays flat however many rows
+ * are exported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Format must be ndjson or csv");
+        }
+    }
+
+    // The upload columns in upload order, then id (ignored on upload), so an export can be uploaded again as is
+    private static final String[] CSV_HEADER = {"date", "description", "category", "amount", "type", "id"};
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Writes every matching transaction, ordered by id, to {@code out}. Returns the row count.
+     */
+    @Transactional(readOnly = true)
+    public long export(TransactionType type, String category, LocalDate start, LocalDate end,
+                       Format format, OutputStream out) throws IOException {
+        log.info("Exporting transactions as {}: type={}, category={}, start={}, end={}",
+                format, type, category, start, end);
+        long begin = System.nanoTime();
+
+        String categoryFilter = category != null && !category.isBlank() ? category : null;
+        boolean unknownCategory = categoryFilter != null && categoryDictionary.find(categoryFilter).isEmpty();
+
+        long rows;
+        OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        try (Stream<Transaction> transactions = unknownCategory
+                ? Stream.empty()
+                : transactionRepository.streamForExport(type, categoryFilter, start, end)) {
+            rows = format == Format.CSV
+                    ? writeCsv(transactions.iterator(), buffered)
+                    : writeNdjson(transactions.iterator(), buffered);
+        }
+        buffered.flush();
+
+        log.info("Exported {} transactions in {} ms", rows, (System.nanoTime() - begin) / 1_000_000);
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<Transaction> transactions, OutputStream out) throws IOException {
+        long rows = 0;
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            while (transactions.hasNext()) {
+                Transaction transaction = transactions.next();
+                writer.write(transaction);
+                entityManager.detach(transaction);
+                rows++;
+            }
+        }
+        if (rows > 0) {
+            out.write('\n');
+        }
+        return rows;
+    }
+
+    private long writeCsv(Iterator<Transaction> transactions, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(CSV_HEADER).build());
+        while (transactions.hasNext()) {
+            Transaction t = transactions.next();
+            printer.printRecord(t.getDate(), t.getDescription(), t.getCategory(),
+                    t.getAmount() != null ? t.getAmount().toPlainString() : null,
+                    t.getType() != null ? t.getType().name() : null, t.getId());
+            entityManager.detach(t);
+            rows++;
+        }
+        printer.flush();
+        return rows;
+    }
+}
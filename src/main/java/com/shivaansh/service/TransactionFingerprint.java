@@ -0,0 +1,77 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Content fingerprint of an uploaded row: the first 64 bits of the MD5 of
+ * {@code date|amount|typeCode|categoryId|description|occurrence}, with the description
+ * lower-cased and its whitespace collapsed. {@code occurrence} numbers identical rows
+ * (0, 1, ...), so two genuine identical purchases on one day are both kept, while
+ * uploading the same file again yields the same fingerprints.
+ *
+ * <p>An upload numbers identical rows in file order and inserts only the occurrences not
+ * stored yet, after the stored ones. The stored rows of one content therefore always hold
+ * occurrences 0, 1, ... in id order, which is the numbering
+ * {@link com.shivaansh.repository.LegacySchemaMigration} gives rows stored before
+ * fingerprints existed ({@code ROW_NUMBER()} per content over the table, by id). A file
+ * with three identical rows on top of two such rows adds one, as occurrence 2. Keep the
+ * two in step.
+ */
+final class TransactionFingerprint {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TransactionFingerprint() {
+    }
+
+    /**
+     * The row's content, without the occurrence number.
+     */
+    static String content(Transaction transaction, Integer categoryId) {
+        BigDecimal amount = transaction.getAmount();
+        return transaction.getDate()
+                + "|" + (amount != null ? amount.setScale(2, RoundingMode.HALF_UP).toPlainString() : "")
+                + "|" + (transaction.getType() != null ? transaction.getType().getCode() : "")
+                + "|" + (categoryId != null ? categoryId : "")
+                + "|" + normalizeDescription(transaction.getDescription());
+    }
+
+    static long of(String content, int occurrence) {
+        byte[] digest = md5().digest((content + "|" + occurrence).getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(digest).getLong();
+    }
+
+    // Matches the SQL lower(btrim(regexp_replace(description, '\s+', ' ', 'g')))
+    static String normalizeDescription(String description) {
+        if (description == null) {
+            return "";
+        }
+        String collapsed = WHITESPACE.matcher(description).replaceAll(" ");
+        int start = 0;
+        int end = collapsed.length();
+        while (start < end && collapsed.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && collapsed.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return collapsed.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.repository.CategoryDictionary;
+import com.shivaansh.repository.TransactionCopyWriter;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Streaming ingest pipeline for uploaded CSVs.
+ *
+ * <p>A parse stage reads records from {@link CsvParserService} and groups them into
+ * batches of {@code app.ingest.batch-size} rows; the calling thread persists each batch
+ * in its own transaction. The two stages are connected by a queue holding at most
+ * {@code app.ingest.queue-capacity} batches, so parsing and DB writes overlap while
+ * memory stays bounded regardless of file size. Because batches commit independently,
+ * a failure part-way through leaves the batches before it persisted.
+ *
+ * <p>Before a batch is written, an {@link IngestDeduplicator} drops rows already stored by
+ * an earlier upload ({@code app.ingest.dedup.enabled}), which makes re-uploading a file or
+ * overlapping statement exports idempotent, also when two uploads of the same rows run at
+ * once.
+ *
+ * <p>Batches are written either through JPA or, in {@link IngestMode#COPY} mode, with
+ * PostgreSQL's COPY via {@link TransactionCopyWriter}. The mode defaults to
+ * {@code app.ingest.mode} and can be chosen per upload.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionIngestService {
+
+    private static final List<Transaction> END_OF_INPUT = List.of();
+
+    private final CsvParserService csvParserService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionCopyWriter transactionCopyWriter;
+    private final IngestMetrics ingestMetrics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.ingest.batch-size:500}")
+    private int batchSize;
+
+    // COPY pays a fixed cost per statement, so it is given larger batches
+    @Value("${app.ingest.copy.batch-size:5000}")
+    private int copyBatchSize;
+
+    @Value("${app.ingest.mode:jpa}")
+    private String defaultMode;
+
+    @Value("${app.ingest.queue-capacity:4}")
+    private int queueCapacity;
+
+    @Value("${app.ingest.dedup.enabled:true}")
+    private boolean dedupEnabled;
+
+    @Value("${app.ingest.dedup.false-positive-rate:0.01}")
+    private double dedupFalsePositiveRate;
+
+    private final ExecutorService parseExecutor =
+            Executors.newCachedThreadPool(new CustomizableThreadFactory("csv-parse-"));
+
+    /**
+     * Ingests an uploaded file. Large files (and every file when the memory-mapped parser
+     * is selected) are spooled to disk first; small ones are streamed from the upload.
+     * A null {@code mode} uses {@code app.ingest.mode}.
+     */
+    public IngestStats ingest(MultipartFile file, IngestMode mode) throws Exception {
+        IngestStats stats = new IngestStats();
+        stats.setBytes(file.getSize());
+        if (!csvParserService.shouldSpool(file.getSize())) {
+            try (InputStream inputStream = file.getInputStream()) {
+                return ingest(inputStream, stats, mode);
+            }
+        }
+
+        Path spooled = Files.createTempFile("upload-", ".csv");
+        try {
+            file.transferTo(spooled);
+            return ingest(spooled, stats, mode);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    /**
+     * Runs the pipeline over a stream, reporting progress into the supplied {@code stats}.
+     * Interrupting the calling thread stops both stages after the batch being written.
+     */
+    public IngestStats ingest(InputStream inputStream, IngestStats stats, IngestMode mode) throws Exception {
+        return runPipeline(sink -> csvParserService.parseTransactions(inputStream, stats, sink), stats, mode);
+    }
+
+    /**
+     * Runs the pipeline over a spooled file, which lets the parser split it across cores.
+     */
+    public IngestStats ingest(Path file, IngestStats stats, IngestMode mode) throws Exception {
+        stats.setBytes(Files.size(file));
+        return runPipeline(sink -> csvParserService.parseTransactions(file, stats, sink), stats, mode);
+    }
+
+    private IngestStats runPipeline(ParseStage parseStage, IngestStats stats, IngestMode mode) throws Exception {
+        IngestMode writeMode = mode != null ? mode : IngestMode.parse(defaultMode);
+        boolean completed = false;
+        try {
+            writeBatches(parseStage, stats, writeMode);
+            completed = true;
+        } finally {
+            stats.finish();
+            ingestMetrics.record(stats, writeMode, completed);
+        }
+
+        log.info("Ingested {} transactions via {} in {} ms ({} rows/sec, {} invalid rows, {} duplicates skipped)",
+                stats.getRowsPersisted(), writeMode, stats.getDurationMs(),
+                Math.round(stats.getRowsPerSecond()), stats.getRowsRejected(), stats.getDuplicatesSkipped());
+        return stats;
+    }
+
+    private void writeBatches(ParseStage parseStage, IngestStats stats, IngestMode writeMode) throws Exception {
+        int batchSize = writeMode == IngestMode.COPY ? copyBatchSize : this.batchSize;
+        BlockingQueue<List<Transaction>> batches = new ArrayBlockingQueue<>(queueCapacity);
+
+        Future<?> parsing = parseExecutor.submit(() -> {
+            try {
+                List<Transaction> batch = new ArrayList<>(batchSize);
+                parseStage.parse(transaction -> {
+                    batch.add(transaction);
+                    if (batch.size() == batchSize) {
+                        enqueue(batches, new ArrayList<>(batch));
+                        batch.clear();
+                    }
+                });
+                if (!batch.isEmpty()) {
+                    enqueue(batches, batch);
+                }
+            } finally {
+                try {
+                    batches.put(END_OF_INPUT);
+                } catch (InterruptedException e) {
+                    // Write stage is gone; nobody is waiting for the marker
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return null;
+        });
+
+        IngestDeduplicator deduplicator = dedupEnabled
+                ? new IngestDeduplicator(jdbcTemplate, categoryDictionary, dedupFalsePositiveRate)
+                : null;
+        try {
+            List<Transaction> batch;
+            while ((batch = batches.take()) != END_OF_INPUT) {
+                List<Transaction> fresh = deduplicator != null ? deduplicator.filter(batch) : batch;
+                List<Transaction> persisted = fresh.isEmpty() ? fresh : persistBatch(fresh, writeMode, deduplicator);
+                stats.addDuplicates(batch.size() - persisted.size());
+                stats.addPersisted(persisted.size());
+                log.debug("Persisted batch of {} transactions ({} total, {} duplicates skipped)",
+                        persisted.size(), stats.getRowsPersisted(), stats.getDuplicatesSkipped());
+            }
+            parsing.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } finally {
+            // Unblocks the parser if the write stage failed or we were interrupted
+            parsing.cancel(true);
+        }
+    }
+
+    /**
+     * Writes a batch in one transaction and returns the rows written: with dedup on, rows
+     * a concurrent upload stored in the meantime are dropped under its write lock.
+     */
+    private List<Transaction> persistBatch(List<Transaction> fresh, IngestMode mode, IngestDeduplicator deduplicator) {
+        return transactionTemplate.execute(status -> {
+            List<Transaction> batch = deduplicator != null ? deduplicator.claim(fresh) : fresh;
+            if (batch.isEmpty()) {
+                return batch;
+            }
+            if (mode == IngestMode.COPY) {
+                transactionCopyWriter.copy(batch);
+                eventPublisher.publishEvent(TransactionsChangedEvent.added(batch));
+                return batch;
+            }
+            for (Transaction transaction : batch) {
+                entityManager.persist(transaction);
+            }
+            eventPublisher.publishEvent(TransactionsChangedEvent.added(batch));
+            entityManager.flush();
+            entityManager.clear();
+            return batch;
+        });
+    }
+
+    private static void enqueue(BlockingQueue<List<Transaction>> batches, List<Transaction> batch) {
+        try {
+            batches.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("CSV ingest cancelled", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        parseExecutor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface ParseStage {
+        void parse(Consumer<Transaction> sink) throws Exception;
+    }
+}
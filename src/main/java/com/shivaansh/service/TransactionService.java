@@ -1,14 +1,26 @@
 package com.shivaansh.service;
 
 import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+import com.shivaansh.repository.CategoryDictionary;
 import com.shivaansh.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -16,6 +28,8 @@ import java.util.Optional;
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Page<Transaction> getAllTransactions(String type,
                                                 String category,
@@ -39,28 +53,83 @@ public class TransactionService {
                 : Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
+        TransactionType typeFilter = type != null && !type.isBlank() ? TransactionType.parse(type) : null;
+        boolean byCategory = category != null && !category.isBlank();
+        if (byCategory && categoryDictionary.find(category).isEmpty()) {
+            return Page.empty(pageable);
+        }
 
-        if (type != null && !type.isBlank() && category != null && !category.isBlank()) {
-            return transactionRepository.findByTypeAndCategory(type, category, pageable);
-        } else if (type != null && !type.isBlank()) {
-            return transactionRepository.findByType(type, pageable);
-        } else if (category != null && !category.isBlank()) {
+        if (typeFilter != null && byCategory) {
+            return transactionRepository.findByTypeAndCategory(typeFilter, category, pageable);
+        } else if (typeFilter != null) {
+            return transactionRepository.findByType(typeFilter, pageable);
+        } else if (byCategory) {
             return transactionRepository.findByCategory(category, pageable);
         } else {
             return transactionRepository.findAll(pageable);
         }
     }
 
+    /**
+     * Keyset-paged listing: seeks past the (sortBy, id) of the previous page's last row and never
+     * counts. A blank cursor starts from the beginning; afterwards the token fixes sortBy/direction.
+     */
+    @Transactional(readOnly = true)
+    public TransactionSlice getTransactionsAfter(String type,
+                                                 String category,
+                                                 String cursorToken,
+                                                 int size,
+                                                 String sortBy,
+                                                 String direction) {
+        log.debug("Fetching transactions by cursor: type={}, category={}, size={}, sortBy={}, direction={}",
+                type, category, size, sortBy, direction);
+
+        TransactionCursor cursor = cursorToken == null || cursorToken.isBlank()
+                ? TransactionCursor.first(
+                        sortBy == null || sortBy.isBlank() ? "date" : sortBy,
+                        direction != null && direction.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC)
+                : TransactionCursor.decode(cursorToken);
+
+        TransactionType typeFilter = type != null && !type.isBlank() ? TransactionType.parse(type) : null;
+        boolean byCategory = category != null && !category.isBlank();
+        if (byCategory && categoryDictionary.find(category).isEmpty()) {
+            return new TransactionSlice(List.of(), false, null);
+        }
+
+        Limit limit = Limit.of(size);
+        Window<Transaction> window;
+        if (typeFilter != null && byCategory) {
+            window = transactionRepository.findByTypeAndCategory(typeFilter, category, cursor.position(), cursor.sort(), limit);
+        } else if (typeFilter != null) {
+            window = transactionRepository.findByType(typeFilter, cursor.position(), cursor.sort(), limit);
+        } else if (byCategory) {
+            window = transactionRepository.findByCategory(category, cursor.position(), cursor.sort(), limit);
+        } else {
+            window = transactionRepository.findAllBy(cursor.position(), cursor.sort(), limit);
+        }
+
+        List<Transaction> content = window.getContent();
+        String next = window.hasNext() && !content.isEmpty()
+                ? TransactionCursor.after(cursor, content.get(content.size() - 1)).encode()
+                : null;
+        return new TransactionSlice(content, next != null, next);
+    }
+
     public Transaction getTransactionById(Long id) {
         log.debug("Fetching transaction by ID: {}", id);
         return transactionRepository.findById(id).orElse(null);
     }
 
+    @Transactional
     public Transaction saveTransaction(Transaction transaction) {
         log.info("Saving transaction: {}", transaction);
-        return transactionRepository.save(transaction);
+        transaction.setCategory(categoryDictionary.canonicalName(transaction.getCategory()));
+        Transaction saved = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(TransactionsChangedEvent.added(List.of(saved)));
+        return saved;
     }
 
+    @Transactional
     public Transaction updateTransaction(Long id, Transaction transactionDetails) {
         log.info("Updating transaction with ID: {}", id);
 
@@ -68,31 +137,194 @@ public class TransactionService {
 
         if (existingTransaction.isPresent()) {
             Transaction transaction = existingTransaction.get();
+            Transaction before = snapshot(transaction);
+            applyChanges(transaction, transactionDetails);
 
-            if (transactionDetails.getDate() != null) {
-                transaction.setDate(transactionDetails.getDate());
-            }
-            if (transactionDetails.getDescription() != null) {
-                transaction.setDescription(transactionDetails.getDescription());
+            Transaction saved = transactionRepository.save(transaction);
+            eventPublisher.publishEvent(new TransactionsChangedEvent(List.of(snapshot(saved)), List.of(before)));
+            return saved;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns false when there is no transaction with this id.
+     */
+    @Transactional
+    public boolean deleteTransaction(Long id) {
+        log.info("Deleting transaction with ID: {}", id);
+        Optional<Transaction> existing = transactionRepository.findById(id);
+        existing.ifPresent(transaction -> {
+            transactionRepository.delete(transaction);
+            eventPublisher.publishEvent(TransactionsChangedEvent.removed(List.of(transaction)));
+        });
+        return existing.isPresent();
+    }
+
+    /**
+     * Validates every item, then inserts the valid ones in this one transaction; Hibernate
+     * sends them as JDBC batches with ids from the pooled sequence.
+     */
+    @Transactional
+    public List<BulkItemResult> createTransactions(List<Transaction> items) {
+        log.info("Bulk creating {} transactions", items.size());
+
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+        List<Transaction> valid = new ArrayList<>(items.size());
+        List<Integer> validIndexes = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Transaction item = items.get(i);
+            String error = validateNew(item);
+            if (error != null) {
+                results.add(BulkItemResult.failed(i, null, BulkItemResult.Status.INVALID, error));
+                continue;
             }
-            if (transactionDetails.getCategory() != null) {
-                transaction.setCategory(transactionDetails.getCategory());
+            item.setId(null);
+            item.setCategory(categoryDictionary.canonicalName(item.getCategory()));
+            valid.add(item);
+            validIndexes.add(i);
+            results.add(null);
+        }
+
+        List<Transaction> saved = transactionRepository.saveAll(valid);
+        eventPublisher.publishEvent(TransactionsChangedEvent.added(saved));
+        for (int n = 0; n < saved.size(); n++) {
+            int index = validIndexes.get(n);
+            results.set(index, BulkItemResult.ok(index, saved.get(n).getId(), BulkItemResult.Status.CREATED));
+        }
+        return results;
+    }
+
+    /**
+     * Applies partial updates (each item carries its id) in this one transaction. All targets
+     * are loaded with a single IN query, and the dirty rows are flushed as batched UPDATEs.
+     */
+    @Transactional
+    public List<BulkItemResult> updateTransactions(List<Transaction> items) {
+        log.info("Bulk updating {} transactions", items.size());
+
+        Map<Long, Transaction> existing = new HashMap<>();
+        List<Long> ids = items.stream().map(Transaction::getId).filter(Objects::nonNull).distinct().toList();
+        for (Transaction transaction : transactionRepository.findAllById(ids)) {
+            existing.put(transaction.getId(), transaction);
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+        Map<Long, Transaction> before = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            Transaction item = items.get(i);
+            String error = item.getId() == null ? "Id is required" : validateChanges(item);
+            if (error != null) {
+                results.add(BulkItemResult.failed(i, item.getId(), BulkItemResult.Status.INVALID, error));
+                continue;
             }
-            if (transactionDetails.getAmount() != null) {
-                transaction.setAmount(transactionDetails.getAmount());
+            Transaction transaction = existing.get(item.getId());
+            if (transaction == null) {
+                results.add(BulkItemResult.failed(i, item.getId(), BulkItemResult.Status.NOT_FOUND, "Transaction not found"));
+                continue;
             }
-            if (transactionDetails.getType() != null) {
-                transaction.setType(transactionDetails.getType());
+            // A repeated id keeps its original state as the "before" of the change event
+            before.computeIfAbsent(transaction.getId(), id -> snapshot(transaction));
+            applyChanges(transaction, item);
+            results.add(BulkItemResult.ok(i, item.getId(), BulkItemResult.Status.UPDATED));
+        }
+
+        if (!before.isEmpty()) {
+            List<Transaction> after = before.keySet().stream().map(id -> snapshot(existing.get(id))).toList();
+            eventPublisher.publishEvent(new TransactionsChangedEvent(after, List.copyOf(before.values())));
+        }
+        return results;
+    }
+
+    /**
+     * Deletes the given ids with one IN query to read the rows (needed for the rollup deltas)
+     * and one bulk DELETE statement.
+     */
+    @Transactional
+    public List<BulkItemResult> deleteTransactions(List<Long> ids) {
+        log.info("Bulk deleting {} transactions", ids.size());
+
+        Map<Long, Transaction> existing = new HashMap<>();
+        for (Transaction transaction : transactionRepository.findAllById(
+                ids.stream().filter(Objects::nonNull).distinct().toList())) {
+            existing.put(transaction.getId(), transaction);
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        Set<Long> deleted = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(BulkItemResult.failed(i, null, BulkItemResult.Status.INVALID, "Id is required"));
+            } else if (!existing.containsKey(id)) {
+                results.add(BulkItemResult.failed(i, id, BulkItemResult.Status.NOT_FOUND, "Transaction not found"));
+            } else {
+                deleted.add(id);
+                results.add(BulkItemResult.ok(i, id, BulkItemResult.Status.DELETED));
             }
+        }
+
+        if (!deleted.isEmpty()) {
+            transactionRepository.deleteAllByIdInBatch(deleted);
+            eventPublisher.publishEvent(TransactionsChangedEvent.removed(List.copyOf(existing.values())));
+        }
+        return results;
+    }
 
-            return transactionRepository.save(transaction);
+    /**
+     * Problems with a transaction about to be created, or null when it is valid.
+     */
+    public static String validateNew(Transaction transaction) {
+        if (transaction.getDate() == null) {
+            return "Date is required";
+        }
+        if (transaction.getAmount() == null) {
+            return "Amount is required";
         }
+        if (transaction.getType() == null) {
+            return "Type is required";
+        }
+        return validateChanges(transaction);
+    }
 
+    /**
+     * Problems with the fields set on a partial update, or null when they are valid.
+     */
+    public static String validateChanges(Transaction details) {
+        if (details.getAmount() != null && details.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Amount must be greater than 0";
+        }
         return null;
     }
 
-    public void deleteTransaction(Long id) {
-        log.info("Deleting transaction with ID: {}", id);
-        transactionRepository.deleteById(id);
+    private void applyChanges(Transaction transaction, Transaction details) {
+        if (details.getDate() != null) {
+            transaction.setDate(details.getDate());
+        }
+        if (details.getDescription() != null) {
+            transaction.setDescription(details.getDescription());
+        }
+        if (details.getCategory() != null) {
+            transaction.setCategory(categoryDictionary.canonicalName(details.getCategory()));
+        }
+        if (details.getAmount() != null) {
+            transaction.setAmount(details.getAmount());
+        }
+        if (details.getType() != null) {
+            transaction.setType(details.getType());
+        }
+    }
+
+    // Detached copy of the row as it is now, for change events
+    private static Transaction snapshot(Transaction transaction) {
+        Transaction copy = new Transaction();
+        copy.setId(transaction.getId());
+        copy.setDate(transaction.getDate());
+        copy.setDescription(transaction.getDescription());
+        copy.setCategory(transaction.getCategory());
+        copy.setAmount(transaction.getAmount());
+        copy.setType(transaction.getType());
+        return copy;
     }
 }
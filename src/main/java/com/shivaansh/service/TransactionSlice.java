@@ -0,0 +1,11 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paged transaction listing. {@code nextCursor} is null on the last page.
+ */
+public record TransactionSlice(List<Transaction> transactions, boolean hasNext, String nextCursor) {
+}
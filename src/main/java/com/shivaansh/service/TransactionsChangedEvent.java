@@ -0,0 +1,21 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+
+import java.util.List;
+
+/**
+ * Published inside the writing transaction whenever transactions are created, updated or
+ * deleted. An update is reported as the old row removed and the new row added, so
+ * listeners maintaining derived totals can apply both sides as deltas.
+ */
+public record TransactionsChangedEvent(List<Transaction> added, List<Transaction> removed) {
+
+    public static TransactionsChangedEvent added(List<Transaction> transactions) {
+        return new TransactionsChangedEvent(transactions, List.of());
+    }
+
+    public static TransactionsChangedEvent removed(List<Transaction> transactions) {
+        return new TransactionsChangedEvent(List.of(), transactions);
+    }
+}
@@ -0,0 +1,57 @@
+package com.shivaansh.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Period a trend series is bucketed by. Buckets are named by their first day; weeks start
+ * on Monday (ISO), matching PostgreSQL's {@code date_trunc}.
+ */
+public enum TrendBucket {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month"),
+    QUARTER("quarter");
+
+    private final String sqlUnit;
+
+    TrendBucket(String sqlUnit) {
+        this.sqlUnit = sqlUnit;
+    }
+
+    /**
+     * The {@code date_trunc} field name.
+     */
+    public String sqlUnit() {
+        return sqlUnit;
+    }
+
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> date.with(IsoFields.DAY_OF_QUARTER, 1);
+        };
+    }
+
+    public LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+            case QUARTER -> bucketStart.plusMonths(3);
+        };
+    }
+
+    public static TrendBucket parse(String value) {
+        for (TrendBucket bucket : values()) {
+            if (bucket.name().equalsIgnoreCase(value.trim())) {
+                return bucket;
+            }
+        }
+        throw new IllegalArgumentException("Bucket must be day, week, month or quarter");
+    }
+}
@@ -0,0 +1,52 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.TransactionType;
+import com.shivaansh.repository.TypeTotal;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Income and expense totals in cents plus the number of transactions they cover.
+ */
+@Getter
+public class TypeTotals {
+
+    private final long incomeCents;
+    private final long expenseCents;
+    private final long count;
+
+    public TypeTotals(long incomeCents, long expenseCents, long count) {
+        this.incomeCents = incomeCents;
+        this.expenseCents = expenseCents;
+        this.count = count;
+    }
+
+    public BigDecimal getIncome() {
+        return Money.fromCents(incomeCents);
+    }
+
+    public BigDecimal getExpense() {
+        return Money.fromCents(expenseCents);
+    }
+
+    public BigDecimal getNet() {
+        return Money.fromCents(incomeCents - expenseCents);
+    }
+
+    public static TypeTotals of(List<TypeTotal> rows) {
+        long income = 0;
+        long expense = 0;
+        long count = 0;
+        for (TypeTotal row : rows) {
+            if (row.getType() == TransactionType.INCOME.getCode()) {
+                income += row.getTotalCents();
+            } else if (row.getType() == TransactionType.EXPENSE.getCode()) {
+                expense += row.getTotalCents();
+            }
+            count += row.getCount();
+        }
+        return new TypeTotals(income, expense, count);
+    }
+}
@@ -0,0 +1,94 @@
+package com.shivaansh.service;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+/**
+ * An asynchronous CSV upload tracked by {@link UploadJobService}.
+ */
+@Getter
+public class UploadJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final String id;
+    private final String fileName;
+    private final Instant submittedAt = Instant.now();
+    private final IngestStats stats = new IngestStats();
+    private volatile State state = State.QUEUED;
+    private volatile String error;
+    private volatile Instant finishedAt;
+    private volatile Future<?> future;
+
+    UploadJob(String id, String fileName) {
+        this.id = id;
+        this.fileName = fileName;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    synchronized boolean start() {
+        if (state != State.QUEUED) {
+            return false;
+        }
+        state = State.RUNNING;
+        return true;
+    }
+
+    synchronized void complete() {
+        if (state == State.RUNNING) {
+            state = State.COMPLETED;
+            finishedAt = Instant.now();
+        }
+    }
+
+    synchronized void fail(String message) {
+        if (state == State.RUNNING) {
+            state = State.FAILED;
+            error = message;
+            finishedAt = Instant.now();
+        }
+    }
+
+    /**
+     * @return the state the job was cancelled from, or {@code null} if it had already finished
+     */
+    synchronized State cancel() {
+        if (isFinished()) {
+            return null;
+        }
+        State previous = state;
+        state = State.CANCELLED;
+        finishedAt = Instant.now();
+        if (future != null) {
+            future.cancel(true);
+        }
+        return previous;
+    }
+
+    public boolean isFinished() {
+        return state != State.QUEUED && state != State.RUNNING;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> job = new HashMap<>();
+        job.put("jobId", id);
+        job.put("fileName", fileName);
+        job.put("state", state);
+        job.put("submittedAt", submittedAt);
+        job.put("finishedAt", finishedAt);
+        job.put("rowsParsed", stats.getRowsParsed());
+        job.put("rowsPersisted", stats.getRowsPersisted());
+        job.put("rowsRejected", stats.getRowsRejected());
+        job.put("duplicatesSkipped", stats.getDuplicatesSkipped());
+        job.put("rowsPerSecond", Math.round(stats.getRowsPerSecond()));
+        job.put("error", error);
+        return job;
+    }
+}
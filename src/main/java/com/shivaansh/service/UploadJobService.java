@@ -0,0 +1,152 @@
+package com.shivaansh.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs CSV uploads in the background on a bounded executor. The upload is spooled to a
+ * temp file before the request returns, because the multipart file does not outlive it.
+ * A job reserves one of the executor's slots (workers plus queue) before spooling, so when
+ * all workers are busy and the queue is full, {@link #submit} throws
+ * {@link RejectedExecutionException} without writing the upload to disk.
+ */
+@Service
+@Slf4j
+public class UploadJobService {
+
+    private final TransactionIngestService transactionIngestService;
+    private final ThreadPoolExecutor executor;
+    // One permit per job the executor can hold, held while the job has a spool file
+    private final Semaphore slots;
+    private final Duration retention;
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Path> spooledFiles = new ConcurrentHashMap<>();
+
+    public UploadJobService(TransactionIngestService transactionIngestService,
+                            @Value("${app.ingest.jobs.threads:2}") int threads,
+                            @Value("${app.ingest.jobs.queue-capacity:10}") int queueCapacity,
+                            @Value("${app.ingest.jobs.retention-minutes:60}") long retentionMinutes) {
+        this.transactionIngestService = transactionIngestService;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("upload-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.slots = new Semaphore(threads + queueCapacity);
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    public UploadJob submit(MultipartFile file, IngestMode mode) throws IOException {
+        pruneFinishedJobs();
+        if (!slots.tryAcquire()) {
+            throw new RejectedExecutionException("Upload queue is full");
+        }
+
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), file.getOriginalFilename());
+        Path spooled = null;
+        try {
+            spooled = Files.createTempFile("upload-", ".csv");
+            file.transferTo(spooled);
+            spooledFiles.put(job.getId(), spooled);
+            Path input = spooled;
+            job.setFuture(executor.submit(() -> run(job, input, mode)));
+        } catch (IOException | RuntimeException e) {
+            spooledFiles.remove(job.getId());
+            deleteSpooled(spooled);
+            slots.release();
+            throw e;
+        }
+        jobs.put(job.getId(), job);
+        log.info("Queued upload job {} for {} ({} bytes)", job.getId(), file.getOriginalFilename(), file.getSize());
+        return job;
+    }
+
+    public UploadJob getJob(String id) {
+        return jobs.get(id);
+    }
+
+    public UploadJob cancel(String id) {
+        UploadJob job = jobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        UploadJob.State cancelledFrom = job.cancel();
+        if (cancelledFrom == UploadJob.State.QUEUED) {
+            // The task will never run, so its finally block won't clean up
+            executor.purge();
+            releaseSlot(id);
+        }
+        if (cancelledFrom != null) {
+            log.info("Cancelled upload job {}", id);
+        }
+        return job;
+    }
+
+    private void run(UploadJob job, Path spooled, IngestMode mode) {
+        try {
+            if (!job.start()) {
+                return;
+            }
+            transactionIngestService.ingest(spooled, job.getStats(), mode);
+            job.complete();
+            log.info("Upload job {} completed: {} transactions", job.getId(), job.getStats().getRowsPersisted());
+        } catch (Exception e) {
+            job.getStats().finish();
+            if (job.getState() == UploadJob.State.CANCELLED) {
+                log.info("Upload job {} stopped after cancellation", job.getId());
+            } else {
+                job.fail(e.getMessage());
+                log.error("Upload job {} failed", job.getId(), e);
+            }
+        } finally {
+            releaseSlot(job.getId());
+        }
+    }
+
+    // Deletes the job's spool file and frees its slot; whichever of run and cancel gets here first does it
+    private void releaseSlot(String jobId) {
+        Path spooled = spooledFiles.remove(jobId);
+        if (spooled != null) {
+            deleteSpooled(spooled);
+            slots.release();
+        }
+    }
+
+    private void deleteSpooled(Path spooled) {
+        if (spooled == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spooled);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}", spooled, e);
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,79 @@
+package com.shivaansh.controller;
+
+import com.shivaansh.service.AnalyticsCache;
+import com.shivaansh.service.AnalyticsService;
+import com.shivaansh.service.AnalyticsStreamService;
+import com.shivaansh.service.BudgetService;
+import com.shivaansh.service.DailyTotalService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Top-N limits are validated before they reach a backend: non-positive values are rejected
+ * and large ones capped, since the limit sizes a heap or a LIMIT clause.
+ */
+@WebMvcTest(AnalyticsController.class)
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AnalyticsService analyticsService;
+
+    @MockBean
+    private DailyTotalService dailyTotalService;
+
+    @MockBean
+    private BudgetService budgetService;
+
+    @MockBean
+    private AnalyticsCache analyticsCache;
+
+    @MockBean
+    private AnalyticsStreamService analyticsStreamService;
+
+    @Test
+    void nonPositiveLimitsAreRejected() throws Exception {
+        mockMvc.perform(get("/api/analytics/top-expenses").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"));
+        mockMvc.perform(get("/api/analytics/top-expenses").param("limit", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/analytics/dashboard").param("limit", "-5"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(analyticsService);
+    }
+
+    @Test
+    void largeLimitsAreCapped() throws Exception {
+        when(analyticsService.getTopExpenses(anyInt(), isNull(), isNull(), isNull())).thenReturn(List.of());
+        when(analyticsService.getDashboard(any(), anyInt())).thenReturn(Map.of());
+
+        mockMvc.perform(get("/api/analytics/top-expenses").param("limit", "2000000000"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/analytics/dashboard").param("limit", "2000000000"))
+                .andExpect(status().isOk());
+
+        verify(analyticsService).getTopExpenses(AnalyticsController.MAX_LIMIT, null, null, null);
+        verify(analyticsService).getDashboard(isNull(), eq(AnalyticsController.MAX_LIMIT));
+    }
+}
@@ -0,0 +1,73 @@
+package com.shivaansh.controller;
+
+import com.shivaansh.service.TransactionExportService;
+import com.shivaansh.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The export streams its body with the format's content type; bad parameters get the usual
+ * JSON error instead.
+ */
+@WebMvcTest(TransactionController.class)
+class TransactionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionService transactionService;
+
+    @MockBean
+    private TransactionExportService transactionExportService;
+
+    @Test
+    void csvExportIsStreamed() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(5);
+            out.write("date,description,category,amount,type,id\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        }).when(transactionExportService).export(isNull(), isNull(), isNull(), isNull(),
+                eq(TransactionExportService.Format.CSV), any(OutputStream.class));
+
+        MvcResult started = mockMvc.perform(get("/api/transactions/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("date,description,category,amount,type,id\n"));
+    }
+
+    @Test
+    void invalidExportParametersAreRejected() throws Exception {
+        mockMvc.perform(get("/api/transactions/export").param("startDate", "2024-13-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"));
+        mockMvc.perform(get("/api/transactions/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Format must be ndjson or csv"));
+
+        verifyNoInteractions(transactionExportService);
+    }
+}
@@ -0,0 +1,283 @@
+package com.shivaansh.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan regression suite for the transaction access paths. Seeds a local Postgres with
+ * realistic volume, runs each hot repository method, and EXPLAINs the exact SQL it sent
+ * (bound values inlined by the driver). Fails if a query scans the transactions table
+ * sequentially instead of using one of the indexes declared on {@link Transaction}.
+ *
+ * <p>Needs a scratch database; skipped unless {@code plan-test.jdbc-url} is set:
+ * <pre>
+ * mvn test -Dtest=QueryPlanTest -Dplan-test.jdbc-url=jdbc:postgresql://localhost:5432/plan_test
+ * </pre>
+ * {@code plan-test.username}/{@code plan-test.password} default to the application's,
+ * {@code plan-test.rows} (default 1,000,000) is the table size to seed up to.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=${plan-test.jdbc-url}",
+        "spring.datasource.username=${plan-test.username:devuser}",
+        "spring.datasource.password=${plan-test.password:devpass}",
+        "spring.jpa.hibernate.ddl-auto=update"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CategoryDictionary.class, QueryPlanTest.StatementCapture.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "plan-test.jdbc-url", matches = ".+")
+class QueryPlanTest {
+
+    private static final int CATEGORIES = 20;
+    private static final int DAYS = 1095;
+    private static final String CATEGORY = "Category 7";
+
+    private static final String DATE = "idx_transactions_date";
+    private static final String TYPE_DATE = "idx_transactions_type_date";
+    private static final String CATEGORY_TYPE_DATE = "idx_transactions_category_type_date";
+    private static final String TYPE_AMOUNT = "idx_transactions_type_amount";
+    private static final String PRIMARY_KEY = "transactions_pkey";
+
+    private static boolean seeded;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${plan-test.rows:1000000}")
+    private long rows;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO categories (name, lookup_key) " +
+                "SELECT 'Category ' || g, 'category ' || g FROM generate_series(1, ?) g ON CONFLICT DO NOTHING", CATEGORIES);
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+        if (existing < rows) {
+            // 85% expenses, spread over three years and the categories above
+            jdbcTemplate.update("INSERT INTO transactions (id, date, description, category_id, amount, type) " +
+                    "SELECT nextval('transactions_seq'), CURRENT_DATE - (random() * ?)::int, 'Seeded ' || g, " +
+                    "(SELECT MIN(id) FROM categories) + (random() * (? - 1))::int, round((random() * 500)::numeric, 2), " +
+                    "CASE WHEN random() < 0.15 THEN 1 ELSE 2 END FROM generate_series(1, ?) g",
+                    DAYS, CATEGORIES, rows - existing);
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE transactions");
+        seeded = true;
+    }
+
+    @Test
+    void dayLookup() {
+        assertUsesIndex(() -> transactionRepository.findByDate(today.minusDays(10)), DATE);
+    }
+
+    @Test
+    void listingSortedByDate() {
+        assertUsesIndex(() -> transactionRepository.findAll(page("date")), DATE);
+    }
+
+    @Test
+    void listingByTypeSortedByDate() {
+        assertUsesIndex(() -> transactionRepository.findByType(TransactionType.EXPENSE, page("date")), TYPE_DATE);
+    }
+
+    @Test
+    void listingByTypeSortedByAmount() {
+        assertUsesIndex(() -> transactionRepository.findByType(TransactionType.EXPENSE, page("amount")), TYPE_AMOUNT);
+    }
+
+    @Test
+    void listingByCategorySortedByDate() {
+        // With a first-page LIMIT, walking the date index and filtering by category can beat a sort
+        assertUsesIndex(() -> transactionRepository.findByCategory(CATEGORY, page("date")), CATEGORY_TYPE_DATE, DATE);
+    }
+
+    @Test
+    void listingByTypeAndCategorySortedByDate() {
+        assertUsesIndex(() -> transactionRepository.findByTypeAndCategory(TransactionType.EXPENSE, CATEGORY, page("date")),
+                CATEGORY_TYPE_DATE);
+    }
+
+    @Test
+    void cursorPages() {
+        Sort byDate = Sort.by(Sort.Direction.DESC, "date", "id");
+        ScrollPosition after = ScrollPosition.forward(Map.of("date", today.minusDays(30), "id", Long.MAX_VALUE));
+        assertUsesIndex(() -> transactionRepository.findAllBy(ScrollPosition.keyset(), byDate, Limit.of(51)), DATE);
+        assertUsesIndex(() -> transactionRepository.findAllBy(after, byDate, Limit.of(51)), DATE);
+        assertUsesIndex(() -> transactionRepository.findByType(TransactionType.EXPENSE, after, byDate, Limit.of(51)),
+                TYPE_DATE);
+    }
+
+    @Test
+    void topExpenses() {
+        LocalDate from = today.minusDays(90);
+        assertUsesIndex(() -> transactionRepository.findByTypeOrderByAmountDesc(TransactionType.EXPENSE, Limit.of(10)),
+                TYPE_AMOUNT);
+        assertUsesIndex(() -> transactionRepository.findByTypeAndDateBetweenOrderByAmountDesc(
+                TransactionType.EXPENSE, from, today, Limit.of(10)), TYPE_AMOUNT, DATE, TYPE_DATE);
+        assertUsesIndex(() -> transactionRepository.findByTypeAndCategoryOrderByAmountDesc(
+                TransactionType.EXPENSE, CATEGORY, Limit.of(10)), CATEGORY_TYPE_DATE, TYPE_AMOUNT);
+        assertUsesIndex(() -> transactionRepository.findByTypeAndCategoryAndDateBetweenOrderByAmountDesc(
+                TransactionType.EXPENSE, CATEGORY, from, today, Limit.of(10)), CATEGORY_TYPE_DATE, TYPE_AMOUNT, DATE);
+    }
+
+    @Test
+    void exportByDateRange() {
+        // Streaming needs a surrounding transaction; opening the stream runs the query
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        assertUsesIndex(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Transaction> transactions =
+                         transactionRepository.streamForExport(null, null, today.minusDays(30), today)) {
+                transactions.findFirst();
+            }
+        }), DATE, PRIMARY_KEY);
+    }
+
+    private static PageRequest page(String sortBy) {
+        return PageRequest.of(0, 20, Sort.by(sortBy).descending());
+    }
+
+    /**
+     * Runs {@code query} and EXPLAINs its first SELECT on transactions (for pages, the content
+     * query; the count query that follows is not a listing's hot path).
+     */
+    private void assertUsesIndex(Runnable query, String... expectedIndexes) {
+        StatementCapture.statements.clear();
+        query.run();
+        String sql = StatementCapture.statements.stream()
+                .filter(s -> s.toLowerCase().startsWith("select") && s.contains("transactions"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No query on transactions was executed"));
+
+        JsonNode plan = explain(sql);
+        Set<String> scans = new TreeSet<>();
+        Set<String> indexes = new TreeSet<>();
+        collect(plan, scans, indexes);
+
+        assertThat(scans).as("Sequential scans in the plan of %s%n%s", sql, plan.toPrettyString())
+                .doesNotContain("transactions");
+        assertThat(indexes).as("Indexes used by %s%n%s", sql, plan.toPrettyString())
+                .containsAnyOf(expectedIndexes);
+    }
+
+    private JsonNode explain(String sql) {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        try {
+            return objectMapper.readTree(json).get(0).get("Plan");
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan: " + json, e);
+        }
+    }
+
+    private static void collect(JsonNode node, Set<String> seqScans, Set<String> indexes) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        if (node.has("Index Name")) {
+            indexes.add(node.get("Index Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collect(child, seqScans, indexes);
+        }
+    }
+
+    /**
+     * Records every prepared statement as the driver will execute it. The PostgreSQL driver's
+     * {@code toString()} renders the SQL with the bound values inlined, so the EXPLAIN plans
+     * for the same values the repository used.
+     */
+    static class StatementCapture implements BeanPostProcessor {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return capturing(super.getConnection());
+                }
+            };
+        }
+
+        private static Connection capturing(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(StatementCapture.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement) {
+                            return capturing(statement);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement capturing(PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(StatementCapture.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute") && (args == null || args.length == 0)) {
+                            statements.add(statement.unwrap(PreparedStatement.class).toString());
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
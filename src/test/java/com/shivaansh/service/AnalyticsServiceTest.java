@@ -0,0 +1,49 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.repository.CategoryDictionary;
+import com.shivaansh.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The summary's {@code transactionCount} is every stored transaction, including rows
+ * without a date or type that the rollup-backed income and expense totals leave out.
+ */
+class AnalyticsServiceTest {
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final AnalyticsBackend analyticsBackend = mock(AnalyticsBackend.class);
+    private final AnalyticsCache analyticsCache = new AnalyticsCache(true, 100, 300);
+    private final AnalyticsService analyticsService = new AnalyticsService(
+            transactionRepository, mock(CategoryDictionary.class), analyticsBackend, analyticsCache);
+
+    @Test
+    void transactionCountIncludesRowsTheTotalsLeaveOut() {
+        // Two typed, dated rows in the rollup; five rows stored in all
+        when(analyticsBackend.totals(null, null)).thenReturn(new TypeTotals(10_000, 2_500, 2));
+        when(transactionRepository.count()).thenReturn(5L);
+
+        assertThat(analyticsService.getFinancialSummary()).containsEntry("transactionCount", 5L);
+    }
+
+    @Test
+    void storingAnUndatedRowRefreshesTheCount() {
+        when(analyticsBackend.totals(null, null)).thenReturn(new TypeTotals(10_000, 2_500, 2));
+        when(transactionRepository.count()).thenReturn(2L);
+        analyticsService.getFinancialSummary();
+
+        Transaction undated = new Transaction();
+        undated.setAmount(new BigDecimal("1.00"));
+        when(transactionRepository.count()).thenReturn(3L);
+        analyticsCache.onTransactionsChanged(TransactionsChangedEvent.added(List.of(undated)));
+
+        assertThat(analyticsService.getFinancialSummary()).containsEntry("transactionCount", 3L);
+    }
+}
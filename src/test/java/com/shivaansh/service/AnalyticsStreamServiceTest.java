@@ -0,0 +1,128 @@
+package com.shivaansh.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+import com.shivaansh.repository.CategoryDictionary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A client that stops reading neither delays the flush nor the other subscribers; once
+ * its outbox is full it is disconnected.
+ */
+class AnalyticsStreamServiceTest {
+
+    private static final int MAX_QUEUED_EVENTS = 2;
+
+    private final CountDownLatch stalled = new CountDownLatch(1);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StreamService service;
+
+    @AfterEach
+    void tearDown() {
+        stalled.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void slowSubscriberIsDisconnectedWithoutBlockingTheFlush() throws Exception {
+        AnalyticsService analyticsService = mock(AnalyticsService.class);
+        when(analyticsService.getFinancialSummary()).thenReturn(Map.of());
+        when(analyticsService.getExpenseByCategoryBreakdown()).thenReturn(Map.of());
+        service = new StreamService(analyticsService);
+        service.registerGauge();
+
+        RecordingEmitter slow = (RecordingEmitter) service.subscribe();
+        slow.blocking = true;
+        RecordingEmitter fast = (RecordingEmitter) service.subscribe();
+        service.flush();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 1; i <= MAX_QUEUED_EVENTS + 3; i++) {
+                service.onTransactionsChanged(TransactionsChangedEvent.added(List.of(salary())));
+                service.flush();
+                // The snapshot, then one delta per flush; the fast client keeps up
+                assertThat(fast.awaitSent(i + 1)).isTrue();
+            }
+        });
+
+        assertThat(fast.completed).isFalse();
+        assertThat(slow.completed).isTrue();
+        assertThat(meterRegistry.get("analytics.stream.subscribers").gauge().value()).isEqualTo(1);
+    }
+
+    private static Transaction salary() {
+        Transaction t = new Transaction();
+        t.setDate(LocalDate.of(2024, 3, 1));
+        t.setAmount(new BigDecimal("100.00"));
+        t.setType(TransactionType.INCOME);
+        return t;
+    }
+
+    private final class StreamService extends AnalyticsStreamService {
+
+        StreamService(AnalyticsService analyticsService) {
+            super(analyticsService, mock(CategoryDictionary.class), new ObjectMapper(), meterRegistry,
+                    mock(PlatformTransactionManager.class), 10, 0, 30, MAX_QUEUED_EVENTS, 2);
+        }
+
+        @Override
+        SseEmitter newEmitter(long timeout) {
+            return new RecordingEmitter();
+        }
+    }
+
+    /** An emitter whose client either reads everything or, when {@code blocking}, nothing. */
+    private final class RecordingEmitter extends SseEmitter {
+
+        final List<Set<ResponseBodyEmitter.DataWithMediaType>> sent = new CopyOnWriteArrayList<>();
+        volatile boolean blocking;
+        volatile boolean completed;
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            if (blocking) {
+                try {
+                    stalled.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(items);
+        }
+
+        boolean awaitSent(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sent.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return sent.size() == count;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+import com.shivaansh.repository.CategoryDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The columnar store must count exactly what the daily_totals rollup holds: rows without a
+ * date or type are left out of every aggregate, ranged or not.
+ */
+class ColumnarAnalyticsBackendTest {
+
+    private ColumnarAnalyticsBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        backend = new ColumnarAnalyticsBackend(null, null, null, new SingleCategoryDictionary());
+        backend.onTransactionsChanged(TransactionsChangedEvent.added(List.of(
+                transaction(1, LocalDate.of(2024, 3, 1), TransactionType.INCOME, "100.00"),
+                transaction(2, LocalDate.of(2024, 3, 2), TransactionType.EXPENSE, "40.00"),
+                transaction(3, null, TransactionType.EXPENSE, "7.00"),
+                transaction(4, LocalDate.of(2024, 3, 3), null, "9.00"))));
+    }
+
+    @Test
+    void totalsSkipRowsWithoutDateOrType() {
+        TypeTotals all = backend.totals(null, null);
+        assertThat(all.getIncomeCents()).isEqualTo(10_000);
+        assertThat(all.getExpenseCents()).isEqualTo(4_000);
+        assertThat(all.getCount()).isEqualTo(2);
+
+        TypeTotals march = backend.totals(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+        assertThat(march.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void categoryBreakdownSkipsRowsWithoutDate() {
+        Map<String, CategoryStats> breakdown = backend.expensesByCategory(null, null);
+        assertThat(breakdown).containsOnlyKeys("Food");
+        assertThat(breakdown.get("Food").count()).isEqualTo(1);
+    }
+
+    private static Transaction transaction(long id, LocalDate date, TransactionType type, String amount) {
+        Transaction t = new Transaction();
+        t.setId(id);
+        t.setDate(date);
+        t.setType(type);
+        t.setCategory("Food");
+        t.setAmount(new BigDecimal(amount));
+        return t;
+    }
+
+    private static final class SingleCategoryDictionary extends CategoryDictionary {
+
+        SingleCategoryDictionary() {
+            super(null);
+        }
+
+        @Override
+        public Integer idFor(String category) {
+            return category != null ? 1 : null;
+        }
+
+        @Override
+        public Optional<Integer> find(String category) {
+            return Optional.ofNullable(idFor(category));
+        }
+
+        @Override
+        public String nameOf(int id) {
+            return "Food";
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.repository.CategoryDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Differential test of the CSV parsing paths: every corpus file is parsed by the streamed
+ * commons-csv parser (the reference) and by the spooled commons-csv and memory-mapped
+ * parsers, sequentially and in small chunks. All of them must accept the same rows with the
+ * same values and reject the same record numbers with the same messages.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class CsvParserDifferentialTest {
+
+    private static final String HEADER = "date,description,category,amount,type\n";
+
+    @TempDir
+    Path tempDir;
+
+    static Stream<Arguments> corpus() {
+        return Stream.of(
+                Arguments.of("plain rows", HEADER +
+                        "2024-01-15,Coffee,Food,4.50,EXPENSE\n" +
+                        "2024-01-16,Salary,Income,3000,INCOME\n"),
+                Arguments.of("quoted commas, newlines and escaped quotes", HEADER +
+                        "2024-02-01,\"Dinner, with friends\",Food,80.00,EXPENSE\n" +
+                        "2024-02-02,\"Line one\nline two\",Rent,1200,EXPENSE\n" +
+                        "2024-02-03,\"The \"\"big\"\" one\",\"Tra\"\"vel\",15,EXPENSE\n" +
+                        "\"2024-02-04\",\"Quoted date\",Food,\"7.25\",\"income\"\n"),
+                Arguments.of("CRLF line endings", HEADER.replace("\n", "\r\n") +
+                        "2024-03-01,Bus,Transport,2.75,EXPENSE\r\n" +
+                        "2024-03-02,\"Multi\r\nline\",Transport,3,EXPENSE\r\n"),
+                Arguments.of("blank lines", HEADER +
+                        "\n2024-04-01,Lunch,Food,12,EXPENSE\n\n\r\n" +
+                        "2024-04-02,Dinner,Food,20,EXPENSE\n\n"),
+                Arguments.of("reordered, upper-case and extra columns",
+                        "Type,AMOUNT,Extra,Category,Description,DATE\n" +
+                                "EXPENSE,9.99,x,Music,Album,2024-05-01\n" +
+                                "INCOME,50,y,Gifts,Birthday,2024-05-02\n"),
+                Arguments.of("missing amount column",
+                        "date,description,category,type\n" +
+                                "2024-06-01,Lunch,Food,EXPENSE\n"),
+                Arguments.of("short and long records", HEADER +
+                        "2024-07-01,Short,Food\n" +
+                        "2024-07-02,Long,Food,5,EXPENSE,surplus,fields\n" +
+                        "2024-07-03,Ok,Food,5,EXPENSE\n"),
+                Arguments.of("dates", HEADER +
+                        "2024-02-30,Clamped,Food,1,EXPENSE\n" +
+                        "2023-02-29,Clamped,Food,1,EXPENSE\n" +
+                        "2024-13-01,Bad month,Food,1,EXPENSE\n" +
+                        "2024-1-05,Short month,Food,1,EXPENSE\n" +
+                        "2024/01/05,Slashes,Food,1,EXPENSE\n" +
+                        "0000-01-01,Year zero,Food,1,EXPENSE\n" +
+                        ",No date,Food,1,EXPENSE\n"),
+                Arguments.of("amounts", HEADER +
+                        "2024-08-01,Exponent,Food,1e3,EXPENSE\n" +
+                        "2024-08-02,Plus,Food,+5,EXPENSE\n" +
+                        "2024-08-03,Minus,Food,-12.50,EXPENSE\n" +
+                        "2024-08-04,Leading point,Food,.5,EXPENSE\n" +
+                        "2024-08-05,Trailing point,Food,5.,EXPENSE\n" +
+                        "2024-08-06,Huge,Food,123456789012345678901.25,EXPENSE\n" +
+                        "2024-08-07,Text,Food,abc,EXPENSE\n" +
+                        "2024-08-08,Empty,Food,,EXPENSE\n" +
+                        "2024-08-09,Two points,Food,1.2.3,EXPENSE\n" +
+                        "2024-08-10,Sign only,Food,-,EXPENSE\n"),
+                Arguments.of("types and categories", HEADER +
+                        "2024-09-01,Lower,food,1,expense\n" +
+                        "2024-09-02,Padded,  Food  ,1,  Income \n" +
+                        "2024-09-03,Unknown type,Food,1,TRANSFER\n" +
+                        "2024-09-04,No category,,1,EXPENSE\n" +
+                        "2024-09-05,Quoted padded,\"  Food \" ,1,\"EXPENSE\"  \n"),
+                Arguments.of("no trailing newline", HEADER +
+                        "2024-10-01,Last,Food,1,EXPENSE"),
+                Arguments.of("generated", generated(3000, 7)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("corpus")
+    void allParsersAgreeWithCommonsCsv(String name, String csv, CapturedOutput output) throws Exception {
+        Path file = Files.writeString(tempDir.resolve("upload.csv"), csv, StandardCharsets.UTF_8);
+
+        Outcome reference = parseStreamed(csv, output);
+        assertThat(parseSpooled(file, "commons", Long.MAX_VALUE, output)).as("commons, spooled").isEqualTo(reference);
+        assertThat(parseSpooled(file, "commons", 0, output)).as("commons, chunked").isEqualTo(reference);
+        assertThat(parseSpooled(file, "mapped", Long.MAX_VALUE, output)).as("mapped").isEqualTo(reference);
+        assertThat(parseSpooled(file, "mapped", 0, output)).as("mapped, chunked").isEqualTo(reference);
+    }
+
+    @Test
+    void unterminatedQuoteFailsInBothParsers(CapturedOutput output) throws Exception {
+        String csv = HEADER + "2024-01-01,\"Never closed,Food,1,EXPENSE\n";
+        Path file = Files.writeString(tempDir.resolve("broken.csv"), csv, StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> parseStreamed(csv, output)).isNotNull();
+        assertThatThrownBy(() -> parseSpooled(file, "mapped", Long.MAX_VALUE, output)).isNotNull();
+    }
+
+    private Outcome parseStreamed(String csv, CapturedOutput output) throws Exception {
+        CsvParserService service = service("commons", Long.MAX_VALUE);
+        List<String> rows = new ArrayList<>();
+        int logOffset = output.getOut().length();
+        try {
+            service.parseTransactions(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                    new IngestStats(), t -> rows.add(describe(t)));
+        } finally {
+            service.shutdown();
+        }
+        return new Outcome(rows, rejections(output, logOffset));
+    }
+
+    private Outcome parseSpooled(Path file, String parser, long parallelThreshold, CapturedOutput output) throws Exception {
+        CsvParserService service = service(parser, parallelThreshold);
+        List<String> rows = new ArrayList<>();
+        int logOffset = output.getOut().length();
+        try {
+            service.parseTransactions(file, new IngestStats(), t -> rows.add(describe(t)));
+        } finally {
+            service.shutdown();
+        }
+        return new Outcome(rows, rejections(output, logOffset));
+    }
+
+    private static CsvParserService service(String parser, long parallelThreshold) {
+        CsvParserService service = new CsvParserService(2, new TrimmingCategoryDictionary());
+        ReflectionTestUtils.setField(service, "parser", parser);
+        ReflectionTestUtils.setField(service, "parallelThresholdBytes", parallelThreshold);
+        // Small enough that the generated corpus spans many chunks
+        ReflectionTestUtils.setField(service, "chunkSizeBytes", 256L);
+        return service;
+    }
+
+    private static String describe(Transaction t) {
+        return t.getDate() + "|" + t.getDescription() + "|" + t.getCategory() + "|"
+                + t.getAmount() + "|" + t.getAmount().scale() + "|" + t.getType();
+    }
+
+    // "Skipping invalid row [n]: message" lines logged since logOffset
+    private static List<String> rejections(CapturedOutput output, int logOffset) {
+        List<String> lines = new ArrayList<>();
+        for (String line : output.getOut().substring(logOffset).split("\\R")) {
+            int at = line.indexOf("Skipping invalid row");
+            if (at >= 0) {
+                lines.add(line.substring(at));
+            }
+        }
+        return lines;
+    }
+
+    private static String generated(int rows, long seed) {
+        String[] descriptions = {"Coffee", "\"Dinner, late\"", "\"Say \"\"hi\"\"\"", "\"Two\nlines\"", "  Padded  ", ""};
+        String[] categories = {"Food", "food", " Rent ", "Travel", "\"Quoted\"", ""};
+        String[] amounts = {"4.50", "1200", "-3.25", "+7", "1e2", "0.001", "abc", ".5", "99999999999999999999"};
+        String[] types = {"EXPENSE", "income", " Expense ", "OTHER"};
+        String[] dates = {"2024-01-15", "2023-12-31", "2024-02-30", "2024-13-01", "15/01/2024"};
+        String[] newlines = {"\n", "\r\n", "\n\n"};
+
+        Random random = new Random(seed);
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < rows; i++) {
+            csv.append(dates[random.nextInt(dates.length)]).append(',')
+                    .append(descriptions[random.nextInt(descriptions.length)]).append(',')
+                    .append(categories[random.nextInt(categories.length)]).append(',')
+                    .append(amounts[random.nextInt(amounts.length)]).append(',')
+                    .append(types[random.nextInt(types.length)])
+                    .append(newlines[random.nextInt(newlines.length)]);
+        }
+        return csv.toString();
+    }
+
+    private record Outcome(List<String> rows, List<String> rejections) {
+    }
+
+    /** Canonical name = trimmed spelling, without the categories table. */
+    private static final class TrimmingCategoryDictionary extends CategoryDictionary {
+
+        TrimmingCategoryDictionary() {
+            super(null);
+        }
+
+        @Override
+        public String canonicalName(String category) {
+            return category == null || category.isBlank() ? null : category.trim();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.shivaansh.service;
+
+import com.shivaansh.repository.CategoryDictionary;
+import com.shivaansh.repository.DailyTotalRepository;
+import com.shivaansh.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reads filtered by a category nobody has used yet answer empty without querying, so they
+ * never register the name in the categories table.
+ */
+class DatabaseAnalyticsBackendTest {
+
+    private final DailyTotalRepository dailyTotalRepository = mock(DailyTotalRepository.class);
+    private final CategoryDictionary categoryDictionary = mock(CategoryDictionary.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final DatabaseAnalyticsBackend backend =
+            new DatabaseAnalyticsBackend(dailyTotalRepository, categoryDictionary, transactionRepository);
+
+    @Test
+    void topExpensesForUnknownCategoryIsEmpty() {
+        when(categoryDictionary.find("Typo")).thenReturn(Optional.empty());
+
+        assertThat(backend.topExpenses(10, null, null, "Typo")).isEmpty();
+        assertThat(backend.topExpenses(10, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "Typo")).isEmpty();
+
+        verify(categoryDictionary, never()).idFor("Typo");
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void trendsForUnknownCategoryAreEmpty() {
+        when(categoryDictionary.find("Typo")).thenReturn(Optional.empty());
+
+        assertThat(backend.expensesByBucket(TrendBucket.MONTH, null, null, "Typo")).isEmpty();
+
+        verifyNoInteractions(dailyTotalRepository);
+    }
+}
@@ -0,0 +1,155 @@
+package com.shivaansh.service;
+
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+import com.shivaansh.repository.CategoryDictionary;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Occurrence numbering of identical rows: per upload in file order, continuing from the
+ * occurrences already stored, so the table always holds the numbering the legacy SQL
+ * backfill assigns. Concurrent uploads re-check under the write lock, so a row both of
+ * them pass is stored once.
+ */
+class IngestDeduplicatorTest {
+
+    private final FingerprintTable table = new FingerprintTable();
+
+    @Test
+    void reuploadingAFileSkipsEveryRow() {
+        List<Transaction> first = upload(List.of(coffee(), coffee(), lunch()), List.of(coffee()));
+        assertThat(first).hasSize(4);
+
+        assertThat(upload(List.of(coffee(), coffee(), lunch()), List.of(coffee()))).isEmpty();
+    }
+
+    @Test
+    void repeatsAreNumberedAcrossBatches() {
+        List<Transaction> fresh = upload(List.of(coffee()), List.of(lunch(), coffee()), List.of(coffee()));
+
+        String content = content(coffee());
+        assertThat(fresh).extracting(Transaction::getFingerprint).contains(
+                TransactionFingerprint.of(content, 0),
+                TransactionFingerprint.of(content, 1),
+                TransactionFingerprint.of(content, 2));
+    }
+
+    @Test
+    void uploadsContinueFromBackfilledOccurrences() {
+        // Two identical legacy rows, as ROW_NUMBER() OVER (PARTITION BY content ORDER BY id) - 1 numbers them
+        String content = content(coffee());
+        table.stored.add(TransactionFingerprint.of(content, 0));
+        table.stored.add(TransactionFingerprint.of(content, 1));
+
+        List<Transaction> fresh = upload(List.of(coffee(), coffee(), coffee()));
+
+        assertThat(fresh).extracting(Transaction::getFingerprint)
+                .containsExactly(TransactionFingerprint.of(content, 2));
+    }
+
+    @Test
+    void concurrentUploadsOfTheSameFileStoreEachRowOnce() {
+        IngestDeduplicator first = new IngestDeduplicator(table, new SingleCategoryDictionary(), 0.01);
+        IngestDeduplicator second = new IngestDeduplicator(table, new SingleCategoryDictionary(), 0.01);
+        // Both uploads load their filters before either has written anything
+        List<Transaction> firstFresh = first.filter(List.of(coffee(), lunch()));
+        List<Transaction> secondFresh = second.filter(List.of(coffee(), lunch()));
+        assertThat(secondFresh).hasSize(2);
+
+        first.claim(firstFresh).forEach(t -> table.stored.add(t.getFingerprint()));
+
+        assertThat(second.claim(secondFresh)).isEmpty();
+        assertThat(table.locks).isEqualTo(2);
+    }
+
+    @SafeVarargs
+    private List<Transaction> upload(List<Transaction>... batches) {
+        IngestDeduplicator deduplicator = new IngestDeduplicator(table, new SingleCategoryDictionary(), 0.01);
+        List<Transaction> inserted = new ArrayList<>();
+        for (List<Transaction> batch : batches) {
+            List<Transaction> fresh = deduplicator.filter(batch);
+            fresh.forEach(t -> table.stored.add(t.getFingerprint()));
+            inserted.addAll(fresh);
+        }
+        return inserted;
+    }
+
+    private static String content(Transaction transaction) {
+        return TransactionFingerprint.content(transaction, 1);
+    }
+
+    private static Transaction coffee() {
+        return transaction("Coffee", "4.50");
+    }
+
+    private static Transaction lunch() {
+        return transaction("Lunch", "12.00");
+    }
+
+    private static Transaction transaction(String description, String amount) {
+        Transaction t = new Transaction();
+        t.setDate(LocalDate.of(2024, 3, 1));
+        t.setDescription(description);
+        t.setCategory("Food");
+        t.setAmount(new BigDecimal(amount));
+        t.setType(TransactionType.EXPENSE);
+        return t;
+    }
+
+    /** The transactions table, reduced to its fingerprint column. */
+    private static final class FingerprintTable extends JdbcTemplate {
+
+        final Set<Long> stored = new HashSet<>();
+        int locks;
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            if (sql.contains("pg_advisory_xact_lock")) {
+                locks++;
+                return;
+            }
+            try {
+                for (long fingerprint : stored) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getLong(1)).thenReturn(fingerprint);
+                    rch.processRow(rs);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            return Arrays.stream(args).filter(stored::contains).map(elementType::cast).toList();
+        }
+    }
+
+    private static final class SingleCategoryDictionary extends CategoryDictionary {
+
+        SingleCategoryDictionary() {
+            super(null);
+        }
+
+        @Override
+        public Integer idFor(String category) {
+            return 1;
+        }
+    }
+}
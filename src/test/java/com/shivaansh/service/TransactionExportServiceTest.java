@@ -0,0 +1,104 @@
+package com.shivaansh.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shivaansh.entity.Transaction;
+import com.shivaansh.entity.TransactionType;
+import com.shivaansh.repository.CategoryDictionary;
+import com.shivaansh.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A CSV export uploads again unchanged: both upload parsers read back every exported row
+ * with the same values.
+ */
+class TransactionExportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void csvExportReimportsUnchanged() throws Exception {
+        List<Transaction> stored = List.of(
+                transaction(1L, "2024-01-15", "Coffee", "Food", "4.50", TransactionType.EXPENSE),
+                transaction(2L, "2024-01-31", "Salary", "Income", "3000.00", TransactionType.INCOME),
+                transaction(3L, "2024-02-01", "Dinner, \"with\" friends\nand family", "Food", "80", TransactionType.EXPENSE));
+        Path export = tempDir.resolve("export.csv");
+        Files.write(export, export(stored));
+
+        for (String parser : List.of("commons", "mapped")) {
+            assertThat(reimport(export, parser)).as(parser).containsExactlyElementsOf(stored.stream()
+                    .map(TransactionExportServiceTest::describe).toList());
+        }
+    }
+
+    private static byte[] export(List<Transaction> stored) throws Exception {
+        TransactionRepository repository = mock(TransactionRepository.class);
+        when(repository.streamForExport(null, null, null, null)).thenReturn(stored.stream());
+        TransactionExportService service =
+                new TransactionExportService(repository, mock(CategoryDictionary.class), new ObjectMapper());
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(null, null, null, null, TransactionExportService.Format.CSV, out);
+        return out.toByteArray();
+    }
+
+    private static List<String> reimport(Path file, String parser) throws Exception {
+        CsvParserService service = new CsvParserService(1, new IdentityCategoryDictionary());
+        ReflectionTestUtils.setField(service, "parser", parser);
+        ReflectionTestUtils.setField(service, "parallelThresholdBytes", Long.MAX_VALUE);
+        try {
+            IngestStats stats = new IngestStats();
+            List<String> rows = new ArrayList<>();
+            service.parseTransactions(file, stats, t -> rows.add(describe(t)));
+            assertThat(stats.getRowsRejected()).isZero();
+            return rows;
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static String describe(Transaction t) {
+        return String.join("|", String.valueOf(t.getDate()), t.getDescription(), t.getCategory(),
+                t.getAmount().toPlainString(), t.getType().name());
+    }
+
+    private static Transaction transaction(Long id, String date, String description, String category,
+                                           String amount, TransactionType type) {
+        Transaction t = new Transaction();
+        t.setId(id);
+        t.setDate(LocalDate.parse(date));
+        t.setDescription(description);
+        t.setCategory(category);
+        t.setAmount(new BigDecimal(amount));
+        t.setType(type);
+        return t;
+    }
+
+    private static final class IdentityCategoryDictionary extends CategoryDictionary {
+
+        IdentityCategoryDictionary() {
+            super(null);
+        }
+
+        @Override
+        public String canonicalName(String category) {
+            return category;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.shivaansh.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A full upload queue rejects before anything is written to disk, and no rejection or
+ * cancellation leaves a spool file behind.
+ */
+class UploadJobServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Path> spooled = new ArrayList<>();
+    private UploadJobService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void fullQueueRejectsWithoutSpooling() throws Exception {
+        service = new UploadJobService(blockingIngest(), 1, 1, 60);
+        service.submit(upload(), IngestMode.JPA);
+        service.submit(upload(), IngestMode.JPA);
+
+        MultipartFile rejected = upload();
+        assertThatThrownBy(() -> service.submit(rejected, IngestMode.JPA))
+                .isInstanceOf(RejectedExecutionException.class);
+        verify(rejected, never()).transferTo(any(Path.class));
+    }
+
+    @Test
+    void cancellingAQueuedJobFreesItsSlot() throws Exception {
+        service = new UploadJobService(blockingIngest(), 1, 1, 60);
+        service.submit(upload(), IngestMode.JPA);
+        UploadJob queued = service.submit(upload(), IngestMode.JPA);
+
+        service.cancel(queued.getId());
+
+        assertThat(spooled.get(1)).doesNotExist();
+        service.submit(upload(), IngestMode.JPA);
+    }
+
+    @Test
+    void failedSpoolIsDeletedAndFreesItsSlot() throws Exception {
+        service = new UploadJobService(blockingIngest(), 1, 1, 60);
+        MultipartFile broken = mock(MultipartFile.class);
+        doAnswer(invocation -> {
+            spooled.add(invocation.getArgument(0));
+            throw new IOException("disk full");
+        }).when(broken).transferTo(any(Path.class));
+
+        assertThatThrownBy(() -> service.submit(broken, IngestMode.JPA)).isInstanceOf(IOException.class);
+
+        assertThat(spooled.get(0)).doesNotExist();
+        // Both slots are still free
+        service.submit(upload(), IngestMode.JPA);
+        service.submit(upload(), IngestMode.JPA);
+    }
+
+    private TransactionIngestService blockingIngest() throws Exception {
+        TransactionIngestService ingest = mock(TransactionIngestService.class);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.getArgument(1);
+        }).when(ingest).ingest(any(Path.class), any(IngestStats.class), any());
+        return ingest;
+    }
+
+    private MultipartFile upload() throws IOException {
+        MultipartFile file = mock(MultipartFile.class);
+        doAnswer(invocation -> {
+            Path target = invocation.getArgument(0);
+            spooled.add(target);
+            Files.writeString(target, "date,description,category,amount,type\n");
+            return null;
+        }).when(file).transferTo(any(Path.class));
+        return file;
+    }
+}